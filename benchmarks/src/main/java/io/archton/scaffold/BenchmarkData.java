@@ -0,0 +1,115 @@
+package io.archton.scaffold;
+
+import io.archton.scaffold.entity.Gender;
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.entity.Title;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmarks: detached entities shaped like
+ * the seed data, and a preferential-attachment relationship graph (a few well-connected
+ * people, a long tail with few links), which is what the network BFS sees in practice.
+ */
+public final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = {
+        "Karl", "Rosa", "Friedrich", "Clara", "Vladimir", "Alexandra", "Antonio", "Emma", "Leon", "Simone"
+    };
+    private static final String[] LAST_NAMES = {
+        "Marx", "Luxemburg", "Engels", "Zetkin", "Lenin", "Kollontai", "Gramsci", "Goldman", "Trotsky", "Weil"
+    };
+
+    public static final List<Title> TITLES = List.of(
+        title(1L, "MR", "Mr"), title(2L, "MS", "Ms"), title(3L, "DR", "Dr"), title(4L, "PROF", "Prof"));
+
+    public static final List<Gender> GENDERS = List.of(
+        gender(1L, "M", "Male"), gender(2L, "F", "Female"), gender(3L, "X", "Other"));
+
+    public static final List<Relationship> RELATIONSHIPS = List.of(
+        relationship(1L, "COLL", "Colleague"), relationship(2L, "FRND", "Friend"),
+        relationship(3L, "SPSE", "Spouse"), relationship(4L, "MNTR", "Mentor"), relationship(5L, "RIVL", "Rival"));
+
+    /** People and the relationships between them. */
+    public record Graph(List<Person> persons, List<PersonRelationship> relationships) {}
+
+    private BenchmarkData() {
+    }
+
+    /** {@code count} people with ids 1..count; roughly one in five has no title. */
+    public static List<Person> persons(int count, long seed) {
+        Random random = new Random(seed);
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Person p = new Person();
+            p.id = (long) i;
+            p.firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            p.lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            p.email = p.firstName.toLowerCase() + "." + p.lastName.toLowerCase() + i + "@example.com";
+            p.phone = random.nextBoolean() ? "+27 21 555 " + (1000 + random.nextInt(9000)) : null;
+            p.dateOfBirth = LocalDate.of(1850 + random.nextInt(150), 1 + random.nextInt(12), 1 + random.nextInt(28));
+            p.title = random.nextInt(5) == 0 ? null : TITLES.get(random.nextInt(TITLES.size()));
+            p.gender = GENDERS.get(random.nextInt(GENDERS.size()));
+            p.notes = random.nextInt(3) == 0 ? "Corresponded regularly; see archive box " + random.nextInt(500) : null;
+            persons.add(p);
+        }
+        return persons;
+    }
+
+    /**
+     * A Barabási-Albert graph: each person after the first {@code linksPerPerson} links to
+     * that many earlier people, chosen with probability proportional to their degree.
+     */
+    public static Graph graph(int count, int linksPerPerson, long seed) {
+        Random random = new Random(seed);
+        List<Person> persons = persons(count, seed);
+        List<PersonRelationship> relationships = new ArrayList<>(count * linksPerPerson);
+        // Every edge endpoint, so a uniform pick from it is a degree-weighted pick of a person
+        int[] endpoints = new int[2 * count * linksPerPerson + linksPerPerson];
+        int endpointCount = 0;
+        for (int i = 0; i < linksPerPerson && i < count; i++) {
+            endpoints[endpointCount++] = i;
+        }
+        long nextId = 1;
+        for (int i = linksPerPerson; i < count; i++) {
+            for (int k = 0; k < linksPerPerson; k++) {
+                int target = endpoints[random.nextInt(endpointCount)];
+                if (target == i) {
+                    continue;
+                }
+                PersonRelationship pr = new PersonRelationship();
+                pr.id = nextId++;
+                pr.sourcePerson = persons.get(i);
+                pr.relatedPerson = persons.get(target);
+                pr.relationship = RELATIONSHIPS.get(random.nextInt(RELATIONSHIPS.size()));
+                relationships.add(pr);
+                endpoints[endpointCount++] = i;
+                endpoints[endpointCount++] = target;
+            }
+        }
+        return new Graph(persons, relationships);
+    }
+
+    private static Title title(Long id, String code, String description) {
+        Title t = new Title(code, description);
+        t.id = id;
+        return t;
+    }
+
+    private static Gender gender(Long id, String code, String description) {
+        Gender g = new Gender(code, description);
+        g.id = id;
+        return g;
+    }
+
+    private static Relationship relationship(Long id, String code, String description) {
+        Relationship r = new Relationship(code, description);
+        r.id = id;
+        return r;
+    }
+}
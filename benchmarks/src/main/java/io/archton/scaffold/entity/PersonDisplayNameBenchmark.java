@@ -0,0 +1,43 @@
+package io.archton.scaffold.entity;
+
+import io.archton.scaffold.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Person#getDisplayName()}, called once per row by the person and network
+ * templates, over a mix of people with and without a title.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonDisplayNameBenchmark {
+
+    private Person[] persons;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<Person> list = BenchmarkData.persons(1024, 42);
+        persons = list.toArray(new Person[0]);
+    }
+
+    @Benchmark
+    public String displayName() {
+        return persons[next++ & (persons.length - 1)].getDisplayName();
+    }
+}
@@ -0,0 +1,59 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.BenchmarkData;
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.service.GraphReadService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GraphResource#buildGraphData(List, List)}: node degree counting and link
+ * de-duplication for {@code /graph/data}, from rows as the reactive queries return them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphDataBenchmark {
+
+    @Param({"1000", "100000"})
+    int people;
+
+    private List<GraphReadService.NodeRow> nodes;
+    private List<GraphReadService.EdgeRow> edges;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.Graph graph = BenchmarkData.graph(people, 3, 42);
+        nodes = new ArrayList<>(graph.persons().size());
+        for (Person p : graph.persons()) {
+            nodes.add(new GraphReadService.NodeRow(p.id, p.firstName, p.lastName, p.email, p.gender.code));
+        }
+        edges = new ArrayList<>(graph.relationships().size());
+        for (PersonRelationship pr : graph.relationships()) {
+            edges.add(new GraphReadService.EdgeRow(pr.sourcePerson.id, pr.relatedPerson.id,
+                pr.relationship.id, pr.relationship.code, pr.relationship.description));
+        }
+    }
+
+    @Benchmark
+    public GraphResource.GraphData buildGraphData() {
+        return GraphResource.buildGraphData(nodes, edges);
+    }
+}
@@ -0,0 +1,42 @@
+package io.archton.scaffold.router;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PersonResource#computePageWindow(int, int)} walking every page of a listing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageWindowBenchmark {
+
+    /** 5 pages (no ellipsis) and 40,000 pages (1M people at 25 per page). */
+    @Param({"5", "40000"})
+    int totalPages;
+
+    private int page;
+
+    @Benchmark
+    public List<Integer> pageWindow() {
+        int current = page++;
+        if (page == totalPages) {
+            page = 0;
+        }
+        return PersonResource.computePageWindow(current, totalPages);
+    }
+}
@@ -0,0 +1,112 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.BenchmarkData;
+import io.archton.scaffold.entity.Person;
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateLocator;
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.qute.Variant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the {@code person$table} fragment (the HTMX list response) for 100 people.
+ * <p>
+ * Runs on a standalone Qute engine that loads {@code templates/} from the application jar.
+ * Quarkus resolves values with generated resolvers rather than reflection, so absolute
+ * numbers are somewhat pessimistic; compare runs of this benchmark with each other.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonTableRenderBenchmark {
+
+    private static final int ROWS = 100;
+
+    private Template.Fragment table;
+    private List<Person> persons;
+    private List<Integer> pageWindow;
+
+    @Setup
+    public void setUp() {
+        Engine engine = Engine.builder()
+            .addDefaults()
+            .addValueResolver(new ReflectionValueResolver())
+            .addValueResolver(formatResolver())
+            .addLocator(PersonTableRenderBenchmark::locate)
+            .removeStandaloneLines(true)
+            .build();
+        table = engine.getTemplate("PersonResource/person.html").getFragment("table");
+        persons = BenchmarkData.persons(ROWS, 42);
+        pageWindow = PersonResource.computePageWindow(3, 40);
+    }
+
+    @Benchmark
+    public String render() {
+        return table.instance()
+            .data("persons", persons)
+            .data("filterText", null)
+            .data("page", 3)
+            .data("size", ROWS)
+            .data("totalPages", 40)
+            .data("totalCount", 40L * ROWS)
+            .data("pageWindow", pageWindow)
+            .data("hasNextPage", true)
+            .render();
+    }
+
+    /** Stand-in for the Quarkus {@code format(pattern)} extension on dates. */
+    private static ValueResolver formatResolver() {
+        return ValueResolver.builder()
+            .applyToBaseClass(TemporalAccessor.class)
+            .applyToName("format")
+            .applyToParameters(1)
+            .resolveAsync(ctx -> ctx.evaluate(ctx.getParams().get(0)).thenCompose(pattern ->
+                CompletableFuture.completedFuture(
+                    DateTimeFormatter.ofPattern(pattern.toString()).format((TemporalAccessor) ctx.getBase()))))
+            .build();
+    }
+
+    private static Optional<TemplateLocator.TemplateLocation> locate(String id) {
+        String path = "templates/" + (id.endsWith(".html") ? id : id + ".html");
+        if (PersonTableRenderBenchmark.class.getClassLoader().getResource(path) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new TemplateLocator.TemplateLocation() {
+            @Override
+            public Reader read() {
+                InputStream in = PersonTableRenderBenchmark.class.getClassLoader().getResourceAsStream(path);
+                return new InputStreamReader(in, StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public Optional<Variant> getVariant() {
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.BenchmarkData;
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.metrics.NetworkMetrics;
+import io.archton.scaffold.repository.PersonRelationshipRepository;
+import io.archton.scaffold.repository.PersonRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NetworkService#buildNetwork(Long, int)} over an in-memory preferential-attachment
+ * graph, so only the BFS bookkeeping is measured: the repositories answer from maps and
+ * metrics are not recorded. Focal people are drawn at random, so hubs and leaves both occur.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetworkServiceBenchmark {
+
+    @Param({"10000"})
+    int people;
+
+    @Param({"1", "2", "3"})
+    int depth;
+
+    private NetworkService service;
+    private long[] focalIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.Graph graph = BenchmarkData.graph(people, 3, 42);
+
+        Map<Long, Person> byId = new HashMap<>();
+        graph.persons().forEach(p -> byId.put(p.id, p));
+        Map<Long, List<PersonRelationship>> byPerson = new HashMap<>();
+        for (PersonRelationship pr : graph.relationships()) {
+            byPerson.computeIfAbsent(pr.sourcePerson.id, id -> new ArrayList<>()).add(pr);
+            byPerson.computeIfAbsent(pr.relatedPerson.id, id -> new ArrayList<>()).add(pr);
+        }
+
+        service = new NetworkService();
+        service.personRepository = new PersonRepository() {
+            @Override
+            public Person findById(Long id) {
+                return byId.get(id);
+            }
+        };
+        service.personRelationshipRepository = new PersonRelationshipRepository() {
+            @Override
+            public List<PersonRelationship> findConnectionsForPersonIds(Set<Long> personIds) {
+                // Each relationship once, as the IN query returns it
+                Map<PersonRelationship, Boolean> found = new IdentityHashMap<>();
+                List<PersonRelationship> result = new ArrayList<>();
+                for (Long id : personIds) {
+                    for (PersonRelationship pr : byPerson.getOrDefault(id, List.of())) {
+                        if (found.put(pr, Boolean.TRUE) == null) {
+                            result.add(pr);
+                        }
+                    }
+                }
+                return result;
+            }
+        };
+        service.networkMetrics = new NetworkMetrics() {
+            @Override
+            public void depth(int depth, int discovered, long startNanos) {
+            }
+
+            @Override
+            public void build(long startNanos) {
+            }
+        };
+
+        Random random = new Random(7);
+        focalIds = new long[1024];
+        for (int i = 0; i < focalIds.length; i++) {
+            focalIds[i] = 1 + random.nextInt(people);
+        }
+    }
+
+    @Benchmark
+    public NetworkService.NetworkResult buildNetwork() {
+        long focal = focalIds[next++ & (focalIds.length - 1)];
+        return service.buildNetwork(focal, depth);
+    }
+}
@@ -0,0 +1,54 @@
+package io.archton.scaffold.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordValidator#validate(String)} for a valid, a short and an over-long password.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidatorBenchmark {
+
+    private PasswordValidator validator;
+    private final String valid = "correct horse battery staple";
+    private final String tooShort = "hunter2";
+    private final String tooLong = "x".repeat(200);
+
+    @Setup
+    public void setUp() {
+        validator = new PasswordValidator();
+        validator.minLength = 15;
+        validator.maxLength = 128;
+    }
+
+    @Benchmark
+    public List<String> valid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public List<String> tooShort() {
+        return validator.validate(tooShort);
+    }
+
+    @Benchmark
+    public List<String> tooLong() {
+        return validator.validate(tooLong);
+    }
+}
@@ -0,0 +1,218 @@
+package io.archton.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads synthetic people and a preferential-attachment relationship graph into an
+ * hx-qute database, for testing at production scale (the Flyway seed data is a few
+ * hundred rows).
+ * <p>
+ * Rows are streamed with {@code COPY ... FROM STDIN}, split into one contiguous range per
+ * thread, each on its own connection. The graph is generated in memory while the people
+ * are loading. Ids are reserved up front from the tables' sequences, so the application's
+ * pooled id allocation carries on after the generated rows. Run it against a database the
+ * application is not writing to; a concurrent insert could claim an id in the reserved range.
+ * <pre>
+ * mvn -f datagen/pom.xml compile exec:java -Dexec.args="--persons=1000000 --links=10 --threads=8"
+ * </pre>
+ * Options: {@code --jdbc-url}, {@code --username}, {@code --password} (default to the
+ * {@code QUARKUS_DATASOURCE_*} environment variables), {@code --persons}, {@code --links}
+ * (relationships per person), {@code --threads}, {@code --seed}, and {@code --fk-checks=false}
+ * to skip foreign-key triggers during the load (needs a superuser; the generated rows are
+ * consistent by construction).
+ */
+public class DataGen {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Writes the rows {@code from..to-1} of one table. */
+    @FunctionalInterface
+    interface RangeWriter {
+        void write(Writer out, int from, int to) throws Exception;
+    }
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final boolean fkChecks;
+
+    DataGen(String jdbcUrl, String username, String password, boolean fkChecks) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.fkChecks = fkChecks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String jdbcUrl = options.getOrDefault("jdbc-url",
+            env("QUARKUS_DATASOURCE_JDBC_URL", "jdbc:postgresql://localhost:5432/postgres"));
+        String username = options.getOrDefault("username", env("QUARKUS_DATASOURCE_USERNAME", "postgres"));
+        String password = options.getOrDefault("password", env("QUARKUS_DATASOURCE_PASSWORD", "postgres"));
+        int persons = Integer.parseInt(options.getOrDefault("persons", "100000"));
+        int links = Integer.parseInt(options.getOrDefault("links", "10"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+            Integer.toString(Math.min(8, Runtime.getRuntime().availableProcessors()))));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean fkChecks = Boolean.parseBoolean(options.getOrDefault("fk-checks", "true"));
+        if (persons < 1 || links < 1 || threads < 1) {
+            throw new IllegalArgumentException("--persons, --links and --threads must be positive");
+        }
+
+        System.out.printf("%d persons, %d links each, %d threads, seed %d against %s%n",
+            persons, links, threads, seed, jdbcUrl);
+        new DataGen(jdbcUrl, username, password, fkChecks).run(persons, links, threads, seed);
+    }
+
+    void run(int persons, int links, int threads, long seed) throws Exception {
+        long start = System.nanoTime();
+        try (Connection connection = connect()) {
+            ReferenceCodes codes = ReferenceCodes.load(connection);
+            long personBase = reserve(connection, "person_id_seq", persons);
+
+            CompletableFuture<Graph> graph = CompletableFuture.supplyAsync(
+                () -> Graph.preferentialAttachment(persons, links, seed));
+
+            copy("person", Rows.PERSON_COPY, persons, threads, (out, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    Rows.person(out, personBase + i, Rows.random(seed, i), codes);
+                }
+            });
+
+            Graph edges = graph.get();
+            long relationshipBase = reserve(connection, "person_relationship_id_seq", edges.size);
+            long relationshipSeed = ~seed;
+            copy("person_relationship", Rows.RELATIONSHIP_COPY, edges.size, threads, (out, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    Rows.relationship(out, relationshipBase + i, personBase + edges.source[i],
+                        personBase + edges.target[i], codes.pickRelationship(Rows.random(relationshipSeed, i)));
+                }
+            });
+
+            long analyzeStart = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE person");
+                statement.execute("ANALYZE person_relationship");
+            }
+            System.out.printf(Locale.ROOT, "%-20s %24s %8.1fs%n", "analyze", "", seconds(analyzeStart));
+        }
+        System.out.printf(Locale.ROOT, "%-20s %24s %8.1fs%n", "total", "", seconds(start));
+    }
+
+    /**
+     * Reserve {@code count} consecutive ids from a pooled sequence: the next value starts the
+     * range, and the sequence is moved to its end so the next call (by Hibernate or a column
+     * default) starts a block beyond it.
+     */
+    static long reserve(Connection connection, String sequence, long count) throws SQLException {
+        try (PreparedStatement next = connection.prepareStatement("SELECT nextval(?::regclass)")) {
+            next.setString(1, sequence);
+            long base;
+            try (ResultSet rs = next.executeQuery()) {
+                rs.next();
+                base = rs.getLong(1);
+            }
+            if (count > 1) {
+                try (PreparedStatement set = connection.prepareStatement("SELECT setval(?::regclass, ?)")) {
+                    set.setString(1, sequence);
+                    set.setLong(2, base + count - 1);
+                    set.executeQuery().close();
+                }
+            }
+            return base;
+        }
+    }
+
+    /** COPY {@code rows} rows into a table, one contiguous range per thread and connection. */
+    private void copy(String table, String sql, int rows, int threads, RangeWriter writer) throws Exception {
+        long start = System.nanoTime();
+        int chunk = (rows + threads - 1) / threads;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < rows; from += chunk) {
+                int rangeFrom = from;
+                int rangeTo = Math.min(rows, from + chunk);
+                futures.add(executor.submit(() -> {
+                    copyRange(sql, writer, rangeFrom, rangeTo);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("COPY into " + table + " failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = seconds(start);
+        System.out.printf(Locale.ROOT, "%-20s %,12d rows %,8.0f/s %8.1fs%n", table, rows, rows / seconds, seconds);
+    }
+
+    private void copyRange(String sql, RangeWriter writer, int from, int to) throws Exception {
+        try (Connection connection = connect()) {
+            if (!fkChecks) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET session_replication_role = replica");
+                }
+            }
+            Writer out = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(out, from, to);
+            // Only closed on success: closing ends the COPY and commits it. On failure the
+            // connection is closed mid-COPY instead, and the server discards the range.
+            out.close();
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,83 @@
+package io.archton.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Barabási-Albert (preferential attachment) graph over people {@code 0..n-1}: each
+ * person links to {@code m} earlier people, picked with probability proportional to the
+ * links they already have. The result is a power-law degree distribution, a few hubs with
+ * thousands of links and a long tail with only {@code m}, as in real social graphs.
+ * <p>
+ * Edges are kept in two primitive arrays (8 bytes per edge, plus another 8 while
+ * generating), so 10M edges fit comfortably in a default heap.
+ */
+final class Graph {
+
+    final int[] source;
+    final int[] target;
+    final int size;
+
+    private Graph(int[] source, int[] target) {
+        this.source = source;
+        this.target = target;
+        this.size = source.length;
+    }
+
+    /**
+     * Person {@code i} links to {@code min(i, m)} distinct earlier people. Each link is drawn
+     * from the list of all edge endpoints so far (a degree-weighted pick); if that person is
+     * already linked to {@code i}, a uniform pick is used instead, which always terminates.
+     * The stored direction is random, so "source" is not always the newer person.
+     */
+    static Graph preferentialAttachment(int n, int m, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long total = 0;
+        for (int i = 1; i < n; i++) {
+            total += Math.min(i, m);
+        }
+        if (2 * total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges: " + total);
+        }
+        int[] source = new int[(int) total];
+        int[] target = new int[(int) total];
+        int[] endpoints = new int[(int) (2 * total)];
+        int endpointCount = 0;
+        int[] chosen = new int[m];
+        int edge = 0;
+
+        for (int i = 1; i < n; i++) {
+            int links = Math.min(i, m);
+            for (int k = 0; k < links; k++) {
+                int t = endpointCount == 0 ? random.nextInt(i) : endpoints[random.nextInt(endpointCount)];
+                while (contains(chosen, k, t)) {
+                    t = random.nextInt(i);
+                }
+                chosen[k] = t;
+            }
+            // Endpoints are added after all picks, so a person never links to itself
+            for (int k = 0; k < links; k++) {
+                int t = chosen[k];
+                if (random.nextBoolean()) {
+                    source[edge] = i;
+                    target[edge] = t;
+                } else {
+                    source[edge] = t;
+                    target[edge] = i;
+                }
+                edge++;
+                endpoints[endpointCount++] = i;
+                endpoints[endpointCount++] = t;
+            }
+        }
+        return new Graph(source, target);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package io.archton.datagen;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * The title, gender and relationship codes already in the database (V1.0.1, V1.3.1,
+ * V1.5.1), mapped to their ids, with the weights used to pick them. Codes added later
+ * through the maintenance pages are picked too, with weight 1.
+ */
+final class ReferenceCodes {
+
+    private static final Map<String, Integer> GENDER_WEIGHTS = Map.of("F", 49, "M", 49, "U", 2);
+
+    /** Colleagues and allies dominate, as in the seed data; family links are rare. */
+    private static final Map<String, Integer> RELATIONSHIP_WEIGHTS = Map.ofEntries(
+        Map.entry("COLLEAGUE", 30), Map.entry("FRIEND", 20), Map.entry("ALLY", 20),
+        Map.entry("COLLAB", 10), Map.entry("MENTOR", 4), Map.entry("MENTEE", 4),
+        Map.entry("RIVAL", 3), Map.entry("SUCCESSOR", 2), Map.entry("PREDEC", 2),
+        Map.entry("SPOUSE", 1), Map.entry("PARENT", 1), Map.entry("CHILD", 1), Map.entry("SIBLING", 1));
+
+    /** Weighted choice over ids: {@code cumulative[i]} is the total weight of ids 0..i. */
+    private record Choice(long[] ids, String[] codes, int[] cumulative) {
+
+        static Choice of(Map<String, Long> idsByCode, Map<String, Integer> weights) {
+            long[] ids = new long[idsByCode.size()];
+            String[] codes = new String[idsByCode.size()];
+            int[] cumulative = new int[idsByCode.size()];
+            int i = 0;
+            int sum = 0;
+            for (Map.Entry<String, Long> e : idsByCode.entrySet()) {
+                ids[i] = e.getValue();
+                codes[i] = e.getKey();
+                sum += weights.getOrDefault(e.getKey(), 1);
+                cumulative[i++] = sum;
+            }
+            return new Choice(ids, codes, cumulative);
+        }
+
+        int pick(SplittableRandom random) {
+            int r = random.nextInt(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= r) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private final Map<String, Long> titles;
+    private final Choice genders;
+    private final Choice relationships;
+
+    private ReferenceCodes(Map<String, Long> titles, Map<String, Long> genders, Map<String, Long> relationships) {
+        this.titles = titles;
+        this.genders = Choice.of(genders, GENDER_WEIGHTS);
+        this.relationships = Choice.of(relationships, RELATIONSHIP_WEIGHTS);
+    }
+
+    static ReferenceCodes load(Connection connection) throws SQLException {
+        Map<String, Long> titles = codes(connection, "title");
+        Map<String, Long> genders = codes(connection, "gender");
+        Map<String, Long> relationships = codes(connection, "relationship");
+        if (genders.isEmpty() || relationships.isEmpty()) {
+            throw new IllegalStateException("The gender and relationship tables must not be empty; run the migrations first");
+        }
+        return new ReferenceCodes(titles, genders, relationships);
+    }
+
+    private static Map<String, Long> codes(Connection connection, String table) throws SQLException {
+        Map<String, Long> codes = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT code, id FROM " + table + " ORDER BY id")) {
+            while (rs.next()) {
+                codes.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return codes;
+    }
+
+    /** Index of a weighted-random gender; see {@link #genderId(int)} and {@link #genderCode(int)}. */
+    int pickGender(SplittableRandom random) {
+        return genders.pick(random);
+    }
+
+    long genderId(int gender) {
+        return genders.ids()[gender];
+    }
+
+    String genderCode(int gender) {
+        return genders.codes()[gender];
+    }
+
+    /** Title for a person of the given gender code, or null (about one in ten has none). */
+    Long pickTitle(String genderCode, SplittableRandom random) {
+        int r = random.nextInt(1000);
+        String code;
+        if (r < 100) {
+            return null;
+        } else if (r < 180) {
+            code = "DR";
+        } else if (r < 200) {
+            code = "PROF";
+        } else if (r < 205) {
+            code = "REV";
+        } else if ("F".equals(genderCode)) {
+            code = random.nextInt(5) < 3 ? "MS" : "MRS";
+        } else if ("M".equals(genderCode)) {
+            code = "MR";
+        } else {
+            return null;
+        }
+        return titles.get(code);
+    }
+
+    long pickRelationship(SplittableRandom random) {
+        return relationships.ids()[relationships.pick(random)];
+    }
+}
@@ -0,0 +1,109 @@
+package io.archton.datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * COPY text-format rows for {@code person} and {@code person_relationship}.
+ * <p>
+ * Every value is generated from fixed ASCII word lists and digits, so nothing needs COPY
+ * escaping (no tabs, newlines or backslashes). Each row draws from its own random stream
+ * seeded by the run seed and the row index, so the data for a seed is the same whatever
+ * the number of threads.
+ */
+final class Rows {
+
+    static final String PERSON_COPY = "COPY person (id, first_name, last_name, email, phone, date_of_birth, "
+        + "title_id, gender_id, notes, created_by, updated_by) FROM STDIN";
+
+    static final String RELATIONSHIP_COPY = "COPY person_relationship (id, source_person_id, related_person_id, "
+        + "relationship_id, created_by, updated_by) FROM STDIN";
+
+    private static final String CREATED_BY = "datagen";
+    private static final String NULL = "\\N";
+
+    private static final String[] FEMALE_NAMES = {
+        "Alice", "Amara", "Anna", "Beatriz", "Camille", "Chiara", "Clara", "Dolores", "Elena", "Emma",
+        "Eva", "Freya", "Greta", "Hanna", "Ines", "Irene", "Jana", "Julia", "Katarzyna", "Lea",
+        "Lucia", "Maja", "Margit", "Maria", "Marta", "Nadia", "Olga", "Paula", "Rosa", "Sara",
+        "Simone", "Sofia", "Teresa", "Ursula", "Vera", "Zofia"
+    };
+
+    private static final String[] MALE_NAMES = {
+        "Adam", "Anton", "Bruno", "Carlos", "Dmitri", "Emil", "Enrico", "Felix", "Georg", "Hans",
+        "Ivan", "Jakob", "Jan", "Jean", "Jonas", "Karl", "Lars", "Leon", "Luca", "Marco",
+        "Mario", "Mikkel", "Nikolai", "Olof", "Pablo", "Pavel", "Pedro", "Pierre", "Rafael", "Stefan",
+        "Tomas", "Viktor", "Willy", "Yannis"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Andersson", "Bauer", "Berger", "Bianchi", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia", "Hansen",
+        "Hoffmann", "Horvath", "Jansen", "Kowalski", "Kraus", "Lambert", "Larsen", "Lindqvist", "Lopez", "Martin",
+        "Meyer", "Moreau", "Nielsen", "Novak", "Olsen", "Papadopoulos", "Petit", "Romano", "Rossi", "Santos",
+        "Schmidt", "Schneider", "Silva", "Svoboda", "Varga", "Visser", "Wagner", "Weber", "Wojcik", "Zimmermann"
+    };
+
+    private static final String[] NOTES = {
+        "Trade union organiser.", "Party branch secretary.", "Journalist and pamphleteer.",
+        "Economist; writes on cooperatives.", "Local councillor.", "Historian of the labour movement."
+    };
+
+    private static final LocalDate EARLIEST_BIRTH = LocalDate.of(1930, 1, 1);
+    private static final int BIRTH_RANGE_DAYS = 75 * 365;
+
+    private Rows() {
+    }
+
+    /** Stream for row {@code index} (SplitMix64 of the seed and index). */
+    static SplittableRandom random(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    static void person(Writer out, long id, SplittableRandom random, ReferenceCodes codes) throws IOException {
+        int gender = codes.pickGender(random);
+        String genderCode = codes.genderCode(gender);
+        String[] names = switch (genderCode) {
+            case "F" -> FEMALE_NAMES;
+            case "M" -> MALE_NAMES;
+            default -> random.nextBoolean() ? FEMALE_NAMES : MALE_NAMES;
+        };
+        String firstName = names[random.nextInt(names.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Long title = codes.pickTitle(genderCode, random);
+
+        out.write(Long.toString(id));
+        field(out, firstName);
+        field(out, lastName);
+        // The id keeps emails unique (uq_person_email_lower) however often names repeat
+        field(out, firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@example.org");
+        field(out, random.nextInt(10) < 7 ? "+44-20-" + (1_000_000 + random.nextInt(9_000_000)) : NULL);
+        field(out, EARLIEST_BIRTH.plusDays(random.nextInt(BIRTH_RANGE_DAYS)).toString());
+        field(out, title == null ? NULL : title.toString());
+        field(out, Long.toString(codes.genderId(gender)));
+        field(out, random.nextInt(10) == 0 ? NOTES[random.nextInt(NOTES.length)] : NULL);
+        field(out, CREATED_BY);
+        field(out, CREATED_BY);
+        out.write('\n');
+    }
+
+    static void relationship(Writer out, long id, long sourceId, long relatedId, long relationshipId)
+            throws IOException {
+        out.write(Long.toString(id));
+        field(out, Long.toString(sourceId));
+        field(out, Long.toString(relatedId));
+        field(out, Long.toString(relationshipId));
+        field(out, CREATED_BY);
+        field(out, CREATED_BY);
+        out.write('\n');
+    }
+
+    private static void field(Writer out, String value) throws IOException {
+        out.write('\t');
+        out.write(value);
+    }
+}
@@ -0,0 +1,146 @@
+package io.archton.loadtest;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The scripted user journeys, each a sequence of the requests the HTMX pages make. Step
+ * names are the request shape ({@code HX} for fragment requests), so the same step from
+ * different journeys is reported together.
+ * <p>
+ * People are drawn from a sample of ids taken before the run, so every journey can start
+ * from a deep link instead of first loading the person list.
+ */
+final class Journeys {
+
+    private static final Pattern PERSON_ROW = Pattern.compile("id=\"person-row-(\\d+)\"");
+    private static final Pattern RELATIONSHIP_ROW = Pattern.compile("id=\"relationship-row-(\\d+)\"");
+    private static final Pattern OPTION = Pattern.compile("<option value=\"(\\d+)\"");
+
+    private final List<Long> personIds;
+
+    /**
+     * @param personIds existing people the journeys pick from (at least two)
+     */
+    Journeys(List<Long> personIds) {
+        if (personIds.size() < 2) {
+            throw new IllegalArgumentException("Need at least two people in the database, found " + personIds.size());
+        }
+        this.personIds = personIds;
+    }
+
+    /** Journeys by the name used in {@code --mix}. */
+    Map<String, LoadTest.Journey> all() {
+        Map<String, LoadTest.Journey> journeys = new LinkedHashMap<>();
+        journeys.put("browse", this::browse);
+        journeys.put("modals", this::modals);
+        journeys.put("relationships", this::relationships);
+        journeys.put("network", this::network);
+        journeys.put("graph-data", this::graphData);
+        return journeys;
+    }
+
+    /** Ids of the person rows in a list page or fragment. */
+    static List<Long> personIds(String html) {
+        return ids(PERSON_ROW, html);
+    }
+
+    /** Person list, a filter, a later page and one person's relationships. */
+    void browse(Session session, RandomGenerator random) throws Exception {
+        HttpResponse<String> list = session.get("GET /persons", "/persons");
+        session.hxGet("HX /persons?filter", "/persons?filter=" + (char) ('a' + random.nextInt(26)) + "&size=25");
+        session.hxGet("HX /persons?page", "/persons?page=" + random.nextInt(4) + "&size=25");
+
+        List<Long> ids = personIds(list.body());
+        if (!ids.isEmpty()) {
+            long id = ids.get(random.nextInt(ids.size()));
+            session.hxGet("HX /persons/{id}/relationships", "/persons/" + id + "/relationships");
+        }
+    }
+
+    /** The detail, edit and graph modals for one person. */
+    void modals(Session session, RandomGenerator random) throws Exception {
+        long id = person(random);
+        session.hxGet("HX /persons/{id}", "/persons/" + id);
+        session.hxGet("HX /persons/{id}/edit", "/persons/" + id + "/edit");
+        session.hxGet("HX /graph/person/{id}", "/graph/person/" + id);
+    }
+
+    /**
+     * Open the create-relationship modal and save a new relationship to another person.
+     * When the new row shows on the refreshed first page, it is deleted again through the
+     * delete modal, so repeated runs leave the data as they found it.
+     */
+    void relationships(Session session, RandomGenerator random) throws Exception {
+        long id = person(random);
+        long related = person(random);
+        while (related == id) {
+            related = person(random);
+        }
+        String base = "/persons/" + id + "/relationships";
+
+        Set<Long> before = new HashSet<>(ids(RELATIONSHIP_ROW,
+            session.hxGet("HX /persons/{id}/relationships", base).body()));
+
+        String modal = session.hxGet("HX /persons/{id}/relationships/create", base + "/create").body();
+        List<Long> types = relationshipTypes(modal);
+        if (types.isEmpty()) {
+            return;
+        }
+        String created = session.hxPost("HX POST /persons/{id}/relationships", base, Map.of(
+            "relatedPersonId", Long.toString(related),
+            "relationshipId", Long.toString(types.get(random.nextInt(types.size()))))).body();
+
+        for (Long rowId : ids(RELATIONSHIP_ROW, created)) {
+            if (!before.contains(rowId)) {
+                session.hxGet("HX /persons/{id}/relationships/{rid}/delete", base + "/" + rowId + "/delete");
+                session.hxDelete("HX DELETE /persons/{id}/relationships/{rid}", base + "/" + rowId);
+                break;
+            }
+        }
+    }
+
+    /** One person's network page, then expanded to depths 2 and 3 as the depth buttons do. */
+    void network(Session session, RandomGenerator random) throws Exception {
+        long id = person(random);
+        session.get("GET /graph/network/{id}", "/graph/network/" + id);
+        session.hxGet("HX /graph/network/{id}?depth=2", "/graph/network/" + id + "?depth=2");
+        session.hxGet("HX /graph/network/{id}?depth=3", "/graph/network/" + id + "?depth=3");
+    }
+
+    /** The whole graph as JSON, as the graph page loads it. */
+    void graphData(Session session, RandomGenerator random) throws Exception {
+        session.get("GET /graph/data", "/graph/data");
+    }
+
+    private long person(RandomGenerator random) {
+        return personIds.get(random.nextInt(personIds.size()));
+    }
+
+    /** Relationship type ids offered by the create modal's type select. */
+    private static List<Long> relationshipTypes(String modal) {
+        int select = modal.indexOf("name=\"relationshipId\"");
+        if (select < 0) {
+            return List.of();
+        }
+        int end = modal.indexOf("</select>", select);
+        return ids(OPTION, modal.substring(select, end < 0 ? modal.length() : end));
+    }
+
+    private static List<Long> ids(Pattern pattern, String html) {
+        List<Long> ids = new ArrayList<>();
+        Matcher m = pattern.matcher(html);
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+        return ids;
+    }
+}
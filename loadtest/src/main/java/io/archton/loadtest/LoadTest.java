@@ -0,0 +1,252 @@
+package io.archton.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Closed-loop load driver: N virtual users each log in once, then repeat journeys picked
+ * from a weighted mix (see {@link Journeys}) until the run ends. Users start evenly over
+ * the ramp-up; only requests made after the ramp are measured. Prints requests, errors,
+ * throughput and latency percentiles per step, then checks them against a thresholds file
+ * (see {@link Thresholds}) and exits with status 1 if any is exceeded.
+ * <p>
+ * Run against a local instance, e.g. to compare worker-pool and virtual-thread modes:
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java -Dexec.args="--users=2000 --duration=120s --ramp=30s"
+ * </pre>
+ * Every user logs in with the same account from the same address, so the application's
+ * login rate limits (10 attempts per email, 30 per IP) refuse all but the first few users
+ * with 429. Start the application with {@code APP_SECURITY_RATE_LIMIT_ENABLED=false} for a
+ * load test; users refused that way are reported apart from real login failures.
+ * Options: {@code --base-url} (default http://localhost:9080), {@code --users},
+ * {@code --duration}, {@code --ramp}, {@code --think} (pause between journeys),
+ * {@code --email}, {@code --password}, {@code --mix} (journey weights, default
+ * {@value #DEFAULT_MIX}), {@code --seed} (each user's journey choices and people derive
+ * from it), {@code --sample} (people sampled up front for the journeys) and
+ * {@code --thresholds} (rules file; none by default).
+ */
+public class LoadTest {
+
+    /** One iteration of a user's behaviour. */
+    @FunctionalInterface
+    interface Journey {
+        void run(Session session, RandomGenerator random) throws Exception;
+    }
+
+    static final String DEFAULT_MIX = "browse:40,modals:20,relationships:10,network:25,graph-data:5";
+
+    /** Weighted choice of journeys, from {@code name:weight,...}. */
+    record Mix(Journey[] journeys, int[] cumulative) {
+
+        static Mix parse(String spec, Map<String, Journey> byName) {
+            List<Journey> journeys = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int sum = 0;
+            for (String part : spec.split(",")) {
+                String[] nameWeight = part.trim().split(":");
+                Journey journey = byName.get(nameWeight[0]);
+                if (journey == null || nameWeight.length != 2) {
+                    throw new IllegalArgumentException("Expected name:weight with a name from " + byName.keySet()
+                        + ", got: " + part);
+                }
+                int weight = Integer.parseInt(nameWeight[1]);
+                if (weight > 0) {
+                    sum += weight;
+                    journeys.add(journey);
+                    cumulative.add(sum);
+                }
+            }
+            if (journeys.isEmpty()) {
+                throw new IllegalArgumentException("--mix has no journey with a positive weight");
+            }
+            return new Mix(journeys.toArray(new Journey[0]), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Journey pick(RandomGenerator random) {
+            int r = random.nextInt(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= r) {
+                i++;
+            }
+            return journeys[i];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI baseUri = URI.create(options.getOrDefault("base-url", "http://localhost:9080"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration ramp = duration(options.getOrDefault("ramp", "10s"));
+        Duration think = duration(options.getOrDefault("think", "0s"));
+        String email = options.getOrDefault("email", "admin@example.com");
+        String password = options.getOrDefault("password", "MyAdminPassword");
+        String mix = options.getOrDefault("mix", DEFAULT_MIX);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int sample = Integer.parseInt(options.getOrDefault("sample", "1000"));
+        Thresholds thresholds = options.containsKey("thresholds")
+            ? Thresholds.load(Path.of(options.get("thresholds")))
+            : new Thresholds(List.of());
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        Journeys journeys = new Journeys(samplePeople(client, baseUri, email, password, sample));
+        Mix weighted = Mix.parse(mix, journeys.all());
+
+        System.out.printf("%d users against %s: ramp %ss, measure %ss, mix %s%n",
+            users, baseUri, ramp.toSeconds(), duration.toSeconds(), mix);
+
+        Recorder total = new Recorder();
+        AtomicInteger failedLogins = new AtomicInteger();
+        AtomicInteger rateLimitedLogins = new AtomicInteger();
+        long rampEnd = System.nanoTime() + ramp.toNanos();
+        long runEnd = rampEnd + duration.toNanos();
+
+        // Users are virtual threads, so thousands of them cost little on the driver side
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                long startDelay = ramp.toNanos() * i / users;
+                SplittableRandom random = new SplittableRandom(seed + i);
+                executor.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    Session session = new Session(client, baseUri, recorder, () -> System.nanoTime() >= rampEnd);
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(startDelay);
+                        Session.Login login = login(session, email, password);
+                        if (login == Session.Login.RATE_LIMITED) {
+                            if (rateLimitedLogins.getAndIncrement() == 0) {
+                                System.out.println("Login refused with 429; is the application running with "
+                                    + "APP_SECURITY_RATE_LIMIT_ENABLED=false?");
+                            }
+                            return null;
+                        }
+                        if (login != Session.Login.OK) {
+                            failedLogins.incrementAndGet();
+                            return null;
+                        }
+                        while (System.nanoTime() < runEnd) {
+                            try {
+                                weighted.pick(random).run(session, random);
+                            } catch (IOException e) {
+                                // Recorded as an error by the session; keep the user going
+                            }
+                            if (!think.isZero()) {
+                                Thread.sleep(think);
+                            }
+                        }
+                    } finally {
+                        total.merge(recorder);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<Recorder.StepResult> results = total.results(seconds);
+        print(results);
+        List<String> violations = new ArrayList<>(thresholds.check(results));
+        if (rateLimitedLogins.get() > 0) {
+            violations.add(rateLimitedLogins.get() + " users were refused by the login rate limits (429), so the run "
+                + "did not apply the requested load; restart the application with APP_SECURITY_RATE_LIMIT_ENABLED=false");
+        }
+        if (failedLogins.get() > 0) {
+            violations.add(failedLogins.get() + " users could not log in");
+        }
+        if (!violations.isEmpty()) {
+            System.out.println("FAILED:");
+            violations.forEach(v -> System.out.println("  " + v));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Log in once and collect up to {@code count} person ids from the list pages (not
+     * measured), for the journeys that deep-link to a person.
+     */
+    static List<Long> samplePeople(HttpClient client, URI baseUri, String email, String password, int count)
+            throws IOException, InterruptedException {
+        Session session = new Session(client, baseUri, new Recorder(), () -> false);
+        Session.Login login = session.login("login", email, password);
+        if (login == Session.Login.RATE_LIMITED) {
+            throw new IllegalStateException("Login as " + email + " was rate limited (429); wait, or restart the "
+                + "application with APP_SECURITY_RATE_LIMIT_ENABLED=false");
+        }
+        if (login != Session.Login.OK) {
+            throw new IllegalStateException("Could not log in as " + email);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; ids.size() < count; page++) {
+            List<Long> found = Journeys.personIds(
+                session.hxGet("sample", "/persons?page=" + page + "&size=100").body());
+            if (found.isEmpty()) {
+                break;
+            }
+            ids.addAll(found.subList(0, Math.min(found.size(), count - ids.size())));
+        }
+        return ids;
+    }
+
+    private static Session.Login login(Session session, String email, String password) throws InterruptedException {
+        try {
+            return session.login("POST /j_security_check", email, password);
+        } catch (IOException e) {
+            return Session.Login.FAILED;
+        }
+    }
+
+    static void print(List<Recorder.StepResult> results) {
+        System.out.printf("%-46s %9s %7s %9s %9s %9s %9s %9s%n",
+            "step", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        int requests = 0;
+        double throughput = 0;
+        for (Recorder.StepResult r : results) {
+            System.out.printf(Locale.ROOT, "%-46s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                r.step(), r.requests(), r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.max());
+            requests += r.requests();
+            throughput += r.throughput();
+        }
+        System.out.printf(Locale.ROOT, "%-46s %9d %7s %9.1f%n", "total", requests, "", throughput);
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /** Parses {@code 90s}, {@code 2m} or {@code 500ms}. */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+}
@@ -0,0 +1,75 @@
+package io.archton.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latencies per step. Each virtual user records into its own instance without locking;
+ * the per-user recorders are merged into one when the run ends.
+ */
+final class Recorder {
+
+    /** Latency samples and error count of one step. */
+    static final class Step {
+        private long[] nanos = new long[256];
+        private int count;
+        private int errors;
+
+        void add(long latencyNanos, boolean ok) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Step other) {
+            if (count + other.count > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, count + other.count));
+            }
+            System.arraycopy(other.nanos, 0, nanos, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+
+    /** Summary of one step over the measured window. Latencies are in milliseconds. */
+    record StepResult(String step, int requests, int errors, double throughput,
+                      double p50, double p90, double p99, double max) {}
+
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    void record(String step, long latencyNanos, boolean ok) {
+        steps.computeIfAbsent(step, s -> new Step()).add(latencyNanos, ok);
+    }
+
+    synchronized void merge(Recorder other) {
+        other.steps.forEach((name, step) -> steps.computeIfAbsent(name, s -> new Step()).addAll(step));
+    }
+
+    List<StepResult> results(double seconds) {
+        List<StepResult> results = new ArrayList<>();
+        steps.forEach((name, step) -> {
+            long[] sorted = Arrays.copyOf(step.nanos, step.count);
+            Arrays.sort(sorted);
+            results.add(new StepResult(name, step.count, step.errors, step.count / seconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6));
+        });
+        return results;
+    }
+
+    /** Nearest-rank percentile, in milliseconds. */
+    static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+}
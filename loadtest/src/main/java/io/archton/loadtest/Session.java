@@ -0,0 +1,143 @@
+package io.archton.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * One virtual user: its cookies, and timed requests recorded under a step name.
+ * <p>
+ * Cookies are kept here rather than in a CookieHandler so that thousands of users can
+ * share one HttpClient (and its connection pool and selector thread).
+ */
+final class Session {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final Recorder recorder;
+    private final BooleanSupplier measuring;
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    /**
+     * @param measuring whether samples are kept right now (false during ramp-up)
+     */
+    Session(HttpClient client, URI baseUri, Recorder recorder, BooleanSupplier measuring) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+        this.measuring = measuring;
+    }
+
+    /** Outcome of a login attempt. */
+    enum Login {
+        /** The landing redirect. */
+        OK,
+        /** 429 from the login rate limits, not a wrong password or a server fault. */
+        RATE_LIMITED,
+        FAILED
+    }
+
+    /** Log in through the form-auth endpoint. */
+    Login login(String step, String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(step, form("/j_security_check",
+                Map.of("j_username", email, "j_password", password)).build(),
+            Session::loggedIn);
+        if (loggedIn(response)) {
+            return Login.OK;
+        }
+        return response.statusCode() == 429 ? Login.RATE_LIMITED : Login.FAILED;
+    }
+
+    private static boolean loggedIn(HttpResponse<String> response) {
+        return response.statusCode() == 302
+            && !response.headers().firstValue("location").orElse("").contains("error");
+    }
+
+    /** Full page load. */
+    HttpResponse<String> get(String step, String path) throws IOException, InterruptedException {
+        return send(step, request(path).GET().build(), Session::successful);
+    }
+
+    /** HTMX request: the server answers with a fragment. */
+    HttpResponse<String> hxGet(String step, String path) throws IOException, InterruptedException {
+        return send(step, request(path).header("HX-Request", "true").GET().build(), Session::successful);
+    }
+
+    /** HTMX form post (hx-post). */
+    HttpResponse<String> hxPost(String step, String path, Map<String, String> fields)
+            throws IOException, InterruptedException {
+        return send(step, form(path, fields).header("HX-Request", "true").build(), Session::successful);
+    }
+
+    /** HTMX delete (hx-delete). */
+    HttpResponse<String> hxDelete(String step, String path) throws IOException, InterruptedException {
+        return send(step, request(path).header("HX-Request", "true").DELETE().build(), Session::successful);
+    }
+
+    private HttpRequest.Builder form(String path, Map<String, String> fields) {
+        StringJoiner body = new StringJoiner("&");
+        fields.forEach((k, v) -> body.add(encode(k) + "=" + encode(v)));
+        return request(path)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+
+    private static boolean successful(HttpResponse<String> response) {
+        return response.statusCode() < 400;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(TIMEOUT)
+            .header("Accept-Encoding", "identity");
+        if (!cookies.isEmpty()) {
+            StringJoiner header = new StringJoiner("; ");
+            cookies.forEach((name, value) -> header.add(name + "=" + value));
+            builder.header("Cookie", header.toString());
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest request, Predicate<HttpResponse<String>> ok)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            record(step, System.nanoTime() - start, false);
+            throw e;
+        }
+        record(step, System.nanoTime() - start, ok.test(response));
+        for (String setCookie : response.headers().allValues("set-cookie")) {
+            String pair = setCookie.split(";", 2)[0];
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                cookies.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+            }
+        }
+        return response;
+    }
+
+    private void record(String step, long nanos, boolean ok) {
+        if (measuring.getAsBoolean()) {
+            recorder.record(step, nanos, ok);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
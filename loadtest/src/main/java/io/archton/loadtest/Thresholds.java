@@ -0,0 +1,99 @@
+package io.archton.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regression limits checked after a run. One rule per line, {@code #} starts a comment:
+ * <pre>
+ * # step                               metric          limit
+ * *                                    error-rate      0.01
+ * GET /persons                         p99             500
+ * HX /graph/network/{id}?depth=3       min-throughput  20
+ * </pre>
+ * The step is everything before the last two fields; {@code *} applies to every step.
+ * Metrics: {@code p50}, {@code p90}, {@code p99} and {@code max} (milliseconds, upper
+ * bounds), {@code error-rate} (fraction of requests, upper bound) and
+ * {@code min-throughput} (requests per second, lower bound). A step that did not run is
+ * reported but does not fail the check, so a rule file can cover every journey while
+ * {@code --mix} runs only some of them.
+ */
+final class Thresholds {
+
+    record Rule(String step, String metric, double limit) {}
+
+    private static final Pattern LINE = Pattern.compile("(.*\\S)\\s+(\\S+)\\s+(\\S+)");
+    private static final List<String> METRICS = List.of("p50", "p90", "p99", "max", "error-rate", "min-throughput");
+
+    private final List<Rule> rules;
+
+    Thresholds(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    static Thresholds load(Path file) throws IOException {
+        List<Rule> rules = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file)) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String text = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            Matcher m = LINE.matcher(text);
+            if (!m.matches()) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": expected <step> <metric> <limit>");
+            }
+            String metric = m.group(2);
+            if (!METRICS.contains(metric)) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": unknown metric " + metric);
+            }
+            rules.add(new Rule(m.group(1), metric, Double.parseDouble(m.group(3))));
+        }
+        return new Thresholds(rules);
+    }
+
+    /**
+     * @return one message per violated rule; empty if the run passes
+     */
+    List<String> check(List<Recorder.StepResult> results) {
+        List<String> violations = new ArrayList<>();
+        for (Rule rule : rules) {
+            boolean matched = false;
+            for (Recorder.StepResult result : results) {
+                if (rule.step().equals("*") || rule.step().equals(result.step())) {
+                    matched = true;
+                    double actual = value(result, rule.metric());
+                    boolean lowerBound = rule.metric().equals("min-throughput");
+                    if (lowerBound ? actual < rule.limit() : actual > rule.limit()) {
+                        violations.add(String.format(Locale.ROOT, "%s %s = %.3f, limit %s %.3f",
+                            result.step(), rule.metric(), actual, lowerBound ? ">=" : "<=", rule.limit()));
+                    }
+                }
+            }
+            if (!matched) {
+                System.out.printf("threshold not checked, step did not run: %s%n", rule.step());
+            }
+        }
+        return violations;
+    }
+
+    private static double value(Recorder.StepResult result, String metric) {
+        return switch (metric) {
+            case "p50" -> result.p50();
+            case "p90" -> result.p90();
+            case "p99" -> result.p99();
+            case "max" -> result.max();
+            case "error-rate" -> result.requests() == 0 ? 0 : (double) result.errors() / result.requests();
+            case "min-throughput" -> result.throughput();
+            default -> throw new IllegalArgumentException("Unknown metric " + metric);
+        };
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
+@Cacheable
 @Table(name = "gender", uniqueConstraints = {
     @UniqueConstraint(name = "uk_gender_code", columnNames = "code"),
     @UniqueConstraint(name = "uk_gender_description", columnNames = "description")
@@ -11,7 +12,8 @@ import java.time.Instant;
 public class Gender {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gender_id_seq")
+    @SequenceGenerator(name = "gender_id_seq", sequenceName = "gender_id_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "code", nullable = false, unique = true, length = 1)
@@ -30,7 +30,8 @@ import java.time.Instant;
 public class PersonRelationship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_relationship_id_seq")
+    @SequenceGenerator(name = "person_relationship_id_seq", sequenceName = "person_relationship_id_seq", allocationSize = 50)
     public Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
+@Cacheable
 @Table(name = "relationship", uniqueConstraints = {
     @UniqueConstraint(name = "uk_relationship_code", columnNames = "code"),
     @UniqueConstraint(name = "uk_relationship_description", columnNames = "description")
@@ -11,7 +12,8 @@ import java.time.Instant;
 public class Relationship {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "relationship_id_seq")
+    @SequenceGenerator(name = "relationship_id_seq", sequenceName = "relationship_id_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "code", nullable = false, unique = true, length = 10)
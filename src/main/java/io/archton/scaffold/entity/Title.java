@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
+@Cacheable
 @Table(name = "title", uniqueConstraints = {
     @UniqueConstraint(name = "uk_title_code", columnNames = "code"),
     @UniqueConstraint(name = "uk_title_description", columnNames = "description")
@@ -11,7 +12,8 @@ import java.time.Instant;
 public class Title {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "title_id_seq")
+    @SequenceGenerator(name = "title_id_seq", sequenceName = "title_id_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "code", nullable = false, unique = true, length = 5)
@@ -15,14 +15,16 @@ import java.time.Instant;
 public class UserLogin {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_login_id_seq")
+    @SequenceGenerator(name = "user_login_id_seq", sequenceName = "user_login_id_seq", allocationSize = 50)
     public Long id;
 
     @Username
     @NotBlank
     @Email
     @Size(max = 255)
-    @Column(nullable = false, unique = true)
+    // Unique through the uq_user_login_email_lower index on LOWER(email) (V1.8.0)
+    @Column(nullable = false)
     public String email;
 
     @Password(PasswordType.MCF)
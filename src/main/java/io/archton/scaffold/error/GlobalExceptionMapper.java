@@ -1,7 +1,9 @@
 package io.archton.scaffold.error;
 
 import io.archton.scaffold.service.exception.EntityNotFoundException;
+import io.archton.scaffold.service.exception.RateLimitedException;
 import io.archton.scaffold.service.exception.ReferentialIntegrityException;
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
 import io.archton.scaffold.service.exception.UniqueConstraintException;
 import io.quarkus.qute.Location;
 import io.quarkus.qute.Template;
@@ -44,6 +46,7 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
         int status;
         String statusText;
         String message;
+        Long retryAfter = null;
 
         if (exception instanceof EntityNotFoundException enf) {
             status = 404;
@@ -57,6 +60,21 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
             status = 409;
             statusText = "Conflict";
             message = rie.getMessage();
+        } else if (exception instanceof RateLimitedException rle) {
+            status = 429;
+            statusText = "Too Many Requests";
+            message = "Too many attempts. Please wait a moment and try again.";
+            retryAfter = rle.getRetryAfterSeconds();
+        } else if (exception instanceof ServiceOverloadedException soe) {
+            status = 503;
+            statusText = "Service Unavailable";
+            message = "The server is busy. Please try again in a moment.";
+            retryAfter = soe.getRetryAfterSeconds();
+        } else if (UniqueConstraintException.findUniqueViolation(exception) != null) {
+            // A unique index rejected a write that no caller translated (e.g. a concurrent insert)
+            status = 409;
+            statusText = "Conflict";
+            message = "This record conflicts with an existing one.";
         } else if (exception instanceof WebApplicationException wae) {
             Response response = wae.getResponse();
             status = response.getStatus();
@@ -71,15 +89,20 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
         // Generate unique reference ID for troubleshooting
         String referenceId = UUID.randomUUID().toString();
 
-        // Log the error
-        LOG.errorf(
-            exception,
-            "Error %d [%s]: %s | Path: %s",
-            status,
-            referenceId,
-            exception.getMessage(),
-            uriInfo != null ? uriInfo.getPath() : "unknown"
-        );
+        // Log the error; overload and rate-limit rejections are expected and logged without a trace
+        if (retryAfter != null) {
+            LOG.warnf("Error %d [%s]: %s | Path: %s", status, referenceId, exception.getMessage(),
+                uriInfo != null ? uriInfo.getPath() : "unknown");
+        } else {
+            LOG.errorf(
+                exception,
+                "Error %d [%s]: %s | Path: %s",
+                status,
+                referenceId,
+                exception.getMessage(),
+                uriInfo != null ? uriInfo.getPath() : "unknown"
+            );
+        }
 
         // Check if request accepts HTML
         boolean acceptsHtml = headers
@@ -108,7 +131,9 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
                 .data("userName", null)
                 .render();
 
-            return Response.status(status).entity(html).type(MediaType.TEXT_HTML).build();
+            return Response.status(status).entity(html).type(MediaType.TEXT_HTML)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .build();
         }
 
         // For API requests, return JSON error
@@ -123,6 +148,7 @@ public class GlobalExceptionMapper implements ExceptionMapper<Throwable> {
                 )
             )
             .type(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.RETRY_AFTER, retryAfter)
             .build();
     }
 
@@ -0,0 +1,39 @@
+package io.archton.scaffold.http;
+
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Skips response compression for small bodies.
+ * <p>
+ * Vert.x compresses every response of a configured media type
+ * ({@code quarkus.http.compress-media-types}); below a few hundred bytes the gzip/brotli
+ * framing and CPU cost outweigh the saving. When a response's length is known as its
+ * headers are written and is below {@code app.http.compression.min-size}, this marks it
+ * {@code Content-Encoding: identity}, which Vert.x treats as "do not compress" and
+ * removes. Streamed (chunked) responses have no length yet and are always compressed.
+ */
+@ApplicationScoped
+public class CompressionThreshold {
+
+    @ConfigProperty(name = "app.http.compression.min-size", defaultValue = "1024")
+    long minSize;
+
+    void register(@Observes Router router) {
+        router.route().order(Integer.MIN_VALUE).handler(rc -> {
+            rc.addHeadersEndHandler(v -> {
+                HttpServerResponse response = rc.response();
+                String length = response.headers().get(HttpHeaders.CONTENT_LENGTH);
+                if (length != null && !response.headers().contains(HttpHeaders.CONTENT_ENCODING)
+                        && Long.parseLong(length) < minSize) {
+                    response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+                }
+            });
+            rc.next();
+        });
+    }
+}
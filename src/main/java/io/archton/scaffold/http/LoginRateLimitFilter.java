@@ -0,0 +1,39 @@
+package io.archton.scaffold.http;
+
+import io.archton.scaffold.service.LoginRateLimits;
+import io.archton.scaffold.service.exception.RateLimitedException;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Applies the per-IP login/signup budget ({@link LoginRateLimits}) ahead of everything else
+ * on the route, so a rejected {@code j_security_check} or signup is answered with 429
+ * before the form body is read, authentication runs or a worker thread is involved.
+ * <p>
+ * The address is the connection's peer; behind a reverse proxy, enable
+ * {@code quarkus.http.proxy.proxy-address-forwarding} so it is the real client.
+ */
+@ApplicationScoped
+public class LoginRateLimitFilter {
+
+    @Inject
+    LoginRateLimits limits;
+
+    void register(@Observes Router router) {
+        router.post("/j_security_check").order(Integer.MIN_VALUE).handler(this::check);
+        router.post("/signup").order(Integer.MIN_VALUE).handler(this::check);
+    }
+
+    private void check(RoutingContext rc) {
+        try {
+            limits.checkIp(rc.request().remoteAddress() != null ? rc.request().remoteAddress().host() : null);
+        } catch (RateLimitedException e) {
+            OverloadFailureHandler.respond(rc.response(), e);
+            return;
+        }
+        rc.next();
+    }
+}
@@ -0,0 +1,39 @@
+package io.archton.scaffold.http;
+
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Answers 503 (or 429 when rate limited) with Retry-After when a request fails outside the
+ * REST layer because a bounded pool or a rate limit refused it, e.g. a
+ * {@code j_security_check} login while the password hashing pool is full. REST endpoints
+ * get the same response from the {@code GlobalExceptionMapper}.
+ */
+@ApplicationScoped
+public class OverloadFailureHandler {
+
+    void register(@Observes Router router) {
+        router.route().order(Integer.MIN_VALUE).failureHandler(rc -> {
+            ServiceOverloadedException overload = ServiceOverloadedException.find(rc.failure());
+            if (overload == null || rc.response().headWritten()) {
+                rc.next();
+                return;
+            }
+            respond(rc.response(), overload);
+        });
+    }
+
+    static void respond(HttpServerResponse response, ServiceOverloadedException overload) {
+        response
+            .setStatusCode(overload.getStatus())
+            .putHeader(HttpHeaders.RETRY_AFTER, String.valueOf(overload.getRetryAfterSeconds()))
+            .putHeader(HttpHeaders.CONTENT_TYPE, "text/plain;charset=UTF-8")
+            .end(overload.getStatus() == 429
+                ? "Too many attempts. Please wait a moment and try again."
+                : "The server is busy. Please try again in a moment.");
+    }
+}
@@ -0,0 +1,105 @@
+package io.archton.scaffold.http;
+
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adds a {@code Server-Timing} header to sampled responses from the {@code router} resources,
+ * so the browser's network panel shows where a request's time went:
+ * <ul>
+ *   <li>{@code auth}: from arrival until the resource pipeline starts, i.e. authentication
+ *       and identity augmentation ({@code ActiveUserAugmentor})</li>
+ *   <li>{@code db}: JDBC statement execution (Hibernate session events) and reactive queries,
+ *       with the statement count</li>
+ *   <li>{@code render}: Qute rendering</li>
+ *   <li>{@code total}: until the headers are written</li>
+ * </ul>
+ * A fraction {@code app.server-timing.sample-rate} of requests is sampled; the others carry
+ * no accumulator and cost one random number. The accumulator lives in the request's Vert.x
+ * context, which Quarkus carries onto worker and virtual threads. Streamed responses send
+ * their headers before rendering ends, so they report only the work done before that.
+ */
+@ApplicationScoped
+public class ServerTiming {
+
+    private static final String KEY = ServerTiming.class.getName();
+
+    @ConfigProperty(name = "app.server-timing.sample-rate", defaultValue = "0.01")
+    double sampleRate;
+
+    /** Timings of one sampled request. */
+    public static final class Request {
+        private final long start = System.nanoTime();
+        private volatile long handlerStart;
+        private final AtomicLong dbNanos = new AtomicLong();
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong renderNanos = new AtomicLong();
+
+        /** The request reached a {@code router} resource; ends the auth span. */
+        public void handlerStarted() {
+            if (handlerStart == 0) {
+                handlerStart = System.nanoTime();
+            }
+        }
+
+        public void statement(long nanos) {
+            statements.incrementAndGet();
+            dbNanos.addAndGet(nanos);
+        }
+
+        public void render(long nanos) {
+            renderNanos.addAndGet(nanos);
+        }
+
+        String header() {
+            long now = System.nanoTime();
+            return String.format(Locale.ROOT,
+                "auth;dur=%.1f, db;dur=%.1f;desc=\"%d statements\", render;dur=%.1f, total;dur=%.1f",
+                millis(handlerStart - start), millis(dbNanos.get()), statements.get(),
+                millis(renderNanos.get()), millis(now - start));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * The current request's timings, or null when it is not sampled or there is no request
+     * (startup, scheduled work).
+     */
+    public static Request current() {
+        Context context = Vertx.currentContext();
+        if (context == null || !VertxContext.isDuplicatedContext(context)) {
+            return null;
+        }
+        return ContextLocals.get(KEY, null);
+    }
+
+    void register(@Observes Router router) {
+        router.route().order(Integer.MIN_VALUE).handler(rc -> {
+            if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate
+                    && VertxContext.isOnDuplicatedContext()) {
+                Request timing = new Request();
+                ContextLocals.put(KEY, timing);
+                rc.addHeadersEndHandler(v -> {
+                    if (timing.handlerStart != 0) {
+                        rc.response().putHeader("Server-Timing", timing.header());
+                    }
+                });
+            }
+            rc.next();
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package io.archton.scaffold.metrics;
+
+import io.archton.scaffold.http.ServerTiming;
+import io.quarkus.arc.Arc;
+import org.hibernate.SessionEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Times each JDBC statement and batch a Hibernate session executes. Every statement is
+ * passed to the {@link QueryMonitor} (slow-query log), and the SELECTs are counted by SQL
+ * so the monitor can report those repeated within the session when it ends (N+1 loads).
+ * Statements of a sampled request are also added to its {@link ServerTiming}.
+ * Registered for every session through {@code hibernate.session.events.auto}.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private final transient ServerTiming.Request timing = ServerTiming.current();
+    private final transient QueryMonitor monitor = Arc.container().instance(QueryMonitor.class).get();
+    private transient Map<String, Integer> selects;
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed(System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed(System.nanoTime() - start);
+    }
+
+    @Override
+    public void end() {
+        if (selects != null) {
+            monitor.sessionEnded(selects);
+        }
+    }
+
+    private void executed(long nanos) {
+        if (timing != null) {
+            timing.statement(nanos);
+        }
+        String sql = SqlCapture.last();
+        if (sql == null) {
+            return;
+        }
+        monitor.statement(sql, nanos);
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            if (selects == null) {
+                selects = new HashMap<>();
+            }
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+}
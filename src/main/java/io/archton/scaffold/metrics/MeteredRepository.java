@@ -0,0 +1,19 @@
+package io.archton.scaffold.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every public method of a repository, see {@link RepositoryMetricsInterceptor}.
+ */
+@InterceptorBinding
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MeteredRepository {
+}
@@ -0,0 +1,83 @@
+package io.archton.scaffold.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metrics for the person network BFS, tagged only by depth (1-3):
+ * <ul>
+ *   <li>{@code network.depth.duration}: time to fetch and expand one depth</li>
+ *   <li>{@code network.frontier.size}: people discovered at a depth, as a distribution</li>
+ *   <li>{@code network.frontier.last}: gauge of the latest frontier at each depth</li>
+ *   <li>{@code network.build.duration}: the whole traversal</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class NetworkMetrics {
+
+    private static final int MAX_DEPTH = 3;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Timer[] depthTimers = new Timer[MAX_DEPTH + 1];
+    private final DistributionSummary[] frontierSizes = new DistributionSummary[MAX_DEPTH + 1];
+    private final AtomicInteger[] lastFrontier = new AtomicInteger[MAX_DEPTH + 1];
+    private Timer buildTimer;
+
+    @PostConstruct
+    void register() {
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            String tag = String.valueOf(depth);
+            depthTimers[depth] = Timer.builder("network.depth.duration")
+                .description("Time to query and expand one BFS depth")
+                .tags("depth", tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+            frontierSizes[depth] = DistributionSummary.builder("network.frontier.size")
+                .description("People discovered at one BFS depth")
+                .tags("depth", tag)
+                .baseUnit("people")
+                .publishPercentileHistogram()
+                .register(registry);
+            lastFrontier[depth] = new AtomicInteger();
+            Gauge.builder("network.frontier.last", lastFrontier[depth], AtomicInteger::get)
+                .description("Frontier size of the most recent traversal at this depth")
+                .tags("depth", tag)
+                .baseUnit("people")
+                .register(registry);
+        }
+        buildTimer = Timer.builder("network.build.duration")
+            .description("Time to build a person's network")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+
+    /** One depth fetched and expanded, {@code startNanos} from {@link System#nanoTime()}. */
+    public void depth(int depth, int discovered, long startNanos) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            return;
+        }
+        depthTimers[depth].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        frontierSizes[depth].record(discovered);
+        lastFrontier[depth].set(discovered);
+    }
+
+    /** A complete traversal, {@code startNanos} from {@link System#nanoTime()}. */
+    public void build(long startNanos) {
+        buildTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
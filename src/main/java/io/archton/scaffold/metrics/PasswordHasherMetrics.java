@@ -0,0 +1,54 @@
+package io.archton.scaffold.metrics;
+
+import io.archton.scaffold.service.PasswordHasher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Meters for the {@link PasswordHasher} pool, read from its stats on each scrape:
+ * <ul>
+ *   <li>{@code password.hashing.threads}: pool size</li>
+ *   <li>{@code password.hashing.active}: threads hashing or verifying right now</li>
+ *   <li>{@code password.hashing.queued}: tasks waiting for a thread</li>
+ *   <li>{@code password.hashing.completed}: tasks finished, as a counter</li>
+ *   <li>{@code password.hashing.rejected}: tasks refused with 503 because the pool and
+ *       queue were full, as a counter</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class PasswordHasherMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    void register(@Observes StartupEvent event) {
+        Gauge.builder("password.hashing.threads", passwordHasher, h -> h.stats().threads())
+            .description("Threads in the password hashing pool")
+            .baseUnit("threads")
+            .register(registry);
+        Gauge.builder("password.hashing.active", passwordHasher, h -> h.stats().active())
+            .description("Password hashing pool threads currently busy")
+            .baseUnit("threads")
+            .register(registry);
+        Gauge.builder("password.hashing.queued", passwordHasher, h -> h.stats().queued())
+            .description("Hashing tasks waiting for a pool thread")
+            .baseUnit("tasks")
+            .register(registry);
+        FunctionCounter.builder("password.hashing.completed", passwordHasher, h -> h.stats().completed())
+            .description("Hashing tasks completed")
+            .baseUnit("tasks")
+            .register(registry);
+        FunctionCounter.builder("password.hashing.rejected", passwordHasher, h -> h.stats().rejected())
+            .description("Hashing tasks refused because the pool and its queue were full")
+            .baseUnit("tasks")
+            .register(registry);
+    }
+}
@@ -0,0 +1,167 @@
+package io.archton.scaffold.metrics;
+
+import io.smallrye.common.vertx.ContextLocals;
+import io.smallrye.common.vertx.VertxContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data for the {@code /admin/perf} page: Hibernate's per-query and per-entity statistics,
+ * plus two bounded logs fed by {@link JdbcTimingListener}:
+ * <ul>
+ *   <li>slow statements, those taking at least {@code app.perf.slow-query-threshold}</li>
+ *   <li>repeated loads, a SELECT run {@code app.perf.repeated-load-threshold} or more times
+ *       in one session, the usual sign of an N+1 (e.g. lazy {@code title} per person row)</li>
+ * </ul>
+ * Both entries name the resource method that was running, when there was one.
+ */
+@ApplicationScoped
+public class QueryMonitor {
+
+    private static final String RESOURCE_KEY = QueryMonitor.class.getName() + ".resource";
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @ConfigProperty(name = "app.perf.slow-query-threshold", defaultValue = "PT0.1S")
+    Duration slowQueryThreshold;
+
+    @ConfigProperty(name = "app.perf.repeated-load-threshold", defaultValue = "5")
+    int repeatedLoadThreshold;
+
+    @ConfigProperty(name = "app.perf.log-size", defaultValue = "100")
+    int logSize;
+
+    /** One Hibernate query string with its aggregate statistics; times in milliseconds. */
+    public record QueryStat(String query, long executions, long maxMillis, long avgMillis, long rows) {
+        public long totalMillis() {
+            return executions * avgMillis;
+        }
+    }
+
+    /** Loads (by id or query) and lazy fetches of one entity type. */
+    public record EntityStat(String entity, long loads, long fetches) {}
+
+    public record SlowQuery(Instant at, String resource, String sql, long millis) {}
+
+    public record RepeatedLoad(Instant at, String resource, String sql, int count) {}
+
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Deque<RepeatedLoad> repeatedLoads = new ArrayDeque<>();
+
+    /** Names the resource method handling the current request. */
+    public static void enter(String resourceMethod) {
+        if (VertxContext.isOnDuplicatedContext()) {
+            ContextLocals.put(RESOURCE_KEY, resourceMethod);
+        }
+    }
+
+    private static String currentResource() {
+        return VertxContext.isOnDuplicatedContext() ? ContextLocals.get(RESOURCE_KEY, null) : null;
+    }
+
+    void statement(String sql, long nanos) {
+        if (nanos < slowQueryThreshold.toNanos()) {
+            return;
+        }
+        append(slowQueries, new SlowQuery(Instant.now(), currentResource(), sql, nanos / 1_000_000));
+    }
+
+    void sessionEnded(Map<String, Integer> selects) {
+        String resource = null;
+        for (Map.Entry<String, Integer> entry : selects.entrySet()) {
+            if (entry.getValue() >= repeatedLoadThreshold) {
+                if (resource == null) {
+                    resource = currentResource();
+                }
+                append(repeatedLoads, new RepeatedLoad(Instant.now(), resource, entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private <T> void append(Deque<T> log, T entry) {
+        synchronized (log) {
+            if (log.size() >= logSize) {
+                log.removeLast();
+            }
+            log.addFirst(entry);
+        }
+    }
+
+    /** Slow statements, newest first. */
+    public List<SlowQuery> slowQueries() {
+        synchronized (slowQueries) {
+            return List.copyOf(slowQueries);
+        }
+    }
+
+    /** Repeated loads, newest first. */
+    public List<RepeatedLoad> repeatedLoads() {
+        synchronized (repeatedLoads) {
+            return List.copyOf(repeatedLoads);
+        }
+    }
+
+    /** Queries by total time spent, highest first. */
+    public List<QueryStat> queryStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<QueryStat> stats = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics q = statistics.getQueryStatistics(query);
+            stats.add(new QueryStat(query, q.getExecutionCount(), q.getExecutionMaxTime(),
+                q.getExecutionAvgTime(), q.getExecutionRowCount()));
+        }
+        stats.sort(Comparator.comparingLong(QueryStat::totalMillis).reversed());
+        return stats;
+    }
+
+    /** Entities by lazy fetches, highest first. */
+    public List<EntityStat> entityStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<EntityStat> stats = new ArrayList<>();
+        for (String entity : statistics.getEntityNames()) {
+            EntityStatistics e = statistics.getEntityStatistics(entity);
+            stats.add(new EntityStat(entity.substring(entity.lastIndexOf('.') + 1), e.getLoadCount(), e.getFetchCount()));
+        }
+        stats.sort(Comparator.comparingLong(EntityStat::fetches).reversed());
+        return stats;
+    }
+
+    /** Everything the perf page shows, taken at one point in time. */
+    public record Report(boolean statisticsEnabled, long slowQueryThresholdMillis, int repeatedLoadThreshold,
+                         List<QueryStat> queries, List<EntityStat> entities,
+                         List<SlowQuery> slowQueries, List<RepeatedLoad> repeatedLoads) {}
+
+    public Report report() {
+        // Without statistics Hibernate still lists every entity, each with zero counts
+        boolean statisticsEnabled = sessionFactory.getStatistics().isStatisticsEnabled();
+        return new Report(statisticsEnabled, slowQueryThreshold.toMillis(), repeatedLoadThreshold,
+            statisticsEnabled ? queryStats() : List.of(), statisticsEnabled ? entityStats() : List.of(),
+            slowQueries(), repeatedLoads());
+    }
+
+    /** Start a fresh measurement window. */
+    public void reset() {
+        sessionFactory.getStatistics().clear();
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+        synchronized (repeatedLoads) {
+            repeatedLoads.clear();
+        }
+    }
+}
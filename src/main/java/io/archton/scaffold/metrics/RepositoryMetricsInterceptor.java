@@ -0,0 +1,82 @@
+package io.archton.scaffold.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code repository.calls}: a timer with a latency histogram per repository method,
+ * tagged {@code repository}, {@code method} and {@code outcome} (success or error). All three
+ * come from code, never from arguments, so the series count is fixed by the number of
+ * repository methods.
+ * <p>
+ * Methods returning a query or stream ({@code PanacheQuery}, {@code Stream}) only build it
+ * here; the time of the SQL they run later is attributed to the caller, not to this timer.
+ */
+@MeteredRepository
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class RepositoryMetricsInterceptor {
+
+    @Inject
+    MeterRegistry registry;
+
+    private record Key(Class<?> repository, Method method) {}
+
+    private record Timers(Timer success, Timer error) {}
+
+    private final Map<Key, Timers> timers = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object time(InvocationContext context) throws Exception {
+        Method method = context.getMethod();
+        if (!Modifier.isPublic(method.getModifiers())) {
+            return context.proceed();
+        }
+        Timers methodTimers = timers.computeIfAbsent(new Key(context.getTarget().getClass(), method), this::register);
+        long start = System.nanoTime();
+        try {
+            Object result = context.proceed();
+            methodTimers.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Exception | Error e) {
+            methodTimers.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timers register(Key key) {
+        String repository = repositoryName(key.repository());
+        String method = key.method().getName();
+        return new Timers(timer(repository, method, "success"), timer(repository, method, "error"));
+    }
+
+    private Timer timer(String repository, String method, String outcome) {
+        return Timer.builder("repository.calls")
+            .description("Repository method latency")
+            .tags("repository", repository, "method", method, "outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+
+    /** The bean class behind ArC's generated interceptor subclass. */
+    private static String repositoryName(Class<?> type) {
+        while (type.getSuperclass() != null && type.getSimpleName().endsWith("_Subclass")) {
+            type = type.getSuperclass();
+        }
+        return type.getSimpleName();
+    }
+}
@@ -0,0 +1,28 @@
+package io.archton.scaffold.metrics;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Remembers the SQL Hibernate is about to prepare on this thread, so the
+ * {@link JdbcTimingListener} can attach it to the execution it times. Statements of one
+ * session run one at a time on one thread, so the last inspected SQL is the one executing.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LAST.set(sql);
+        return sql;
+    }
+
+    /** The SQL most recently prepared on this thread, or null. */
+    static String last() {
+        return LAST.get();
+    }
+}
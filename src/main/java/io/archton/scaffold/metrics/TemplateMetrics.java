@@ -0,0 +1,75 @@
+package io.archton.scaffold.metrics;
+
+import io.archton.scaffold.http.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateInstance;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records {@code template.render}: a timer per template and fragment (tags {@code template},
+ * {@code fragment}, the latter {@code none} for whole pages).
+ * <p>
+ * Measured from instance creation to the end of rendering. Resources build the instance
+ * with all its data as their last step, so this is the render, including any lazy loads
+ * the template triggers. Qute's trace listeners would time the render alone, but enabling
+ * tracing allocates an event for every expression. The same time is added to the request's
+ * {@link ServerTiming}.
+ */
+@ApplicationScoped
+public class TemplateMetrics {
+
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    void configure(@Observes EngineBuilder builder) {
+        builder.addTemplateInstanceInitializer(this::track);
+    }
+
+    private void track(TemplateInstance instance) {
+        Template template = instance.getTemplate();
+        if (template == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Timer timer = timer(template);
+        ServerTiming.Request request = ServerTiming.current();
+        instance.onRendered(() -> {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (request != null) {
+                request.render(elapsed);
+            }
+        });
+    }
+
+    private Timer timer(Template template) {
+        String name;
+        String fragment;
+        if (template.isFragment()) {
+            name = ((Template.Fragment) template).getOriginalTemplate().getId();
+            fragment = template.getId();
+        } else {
+            name = template.getId();
+            fragment = "none";
+        }
+        return timers.computeIfAbsent(name + "$" + fragment, key -> Timer.builder("template.render")
+            .description("Qute template render time")
+            .tags("template", name, "fragment", fragment)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry));
+    }
+}
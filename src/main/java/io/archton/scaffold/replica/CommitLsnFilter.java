@@ -0,0 +1,75 @@
+package io.archton.scaffold.replica;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing: after a successful write, hands the user the
+ * primary's current WAL LSN in a short-lived cookie. Until it expires, that user's
+ * replica-eligible reads go to the primary unless the replica has replayed at least that
+ * LSN. The window should exceed the replica's normal lag.
+ */
+@Provider
+public class CommitLsnFilter implements ContainerResponseFilter {
+
+    private static final Logger LOG = Logger.getLogger(CommitLsnFilter.class);
+
+    @ConfigProperty(name = "quarkus.datasource.replica.active", defaultValue = "false")
+    boolean active;
+
+    @ConfigProperty(name = "app.replica.read-your-writes-window", defaultValue = "PT10S")
+    Duration window;
+
+    @Inject
+    DataSource dataSource;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!active || response.getStatus() >= 400 || isSafe(request.getMethod())) {
+            return;
+        }
+        String lsn = currentLsn();
+        if (lsn == null) {
+            return;
+        }
+        NewCookie cookie = new NewCookie.Builder(ReplicaRouting.LSN_COOKIE)
+            .value(lsn)
+            .path("/")
+            .maxAge((int) window.toSeconds())
+            .httpOnly(true)
+            .sameSite(NewCookie.SameSite.STRICT)
+            .build();
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+    }
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method);
+    }
+
+    /** The primary's WAL insert position, which is at or past the commit just made. */
+    private String currentLsn() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not read the primary WAL position; replica reads may be stale");
+            return null;
+        }
+    }
+}
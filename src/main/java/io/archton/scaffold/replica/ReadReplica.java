@@ -0,0 +1,20 @@
+package io.archton.scaffold.replica;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks read-only GET handlers whose queries may be served by the read replica.
+ * Handlers that are also {@code @Transactional} always stay on the primary.
+ *
+ * @see ReplicaRoutingFilter
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ReadReplica {
+}
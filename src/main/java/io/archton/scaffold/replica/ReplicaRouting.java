@@ -0,0 +1,61 @@
+package io.archton.scaffold.replica;
+
+import jakarta.enterprise.context.RequestScoped;
+
+import java.util.regex.Pattern;
+
+/**
+ * Per-request decision whether reads go to the replica.
+ * <p>
+ * {@link ReplicaRoutingFilter} opts a request in. If the user wrote recently, the request
+ * also carries the primary's WAL position after that write ({@link #LSN_COOKIE}); the
+ * replica is then used only once it has replayed at least that far, which the first
+ * data access checks and records with {@link #caughtUp(boolean)}.
+ */
+@RequestScoped
+public class ReplicaRouting {
+
+    /** Cookie holding the primary WAL LSN after the user's last write. */
+    public static final String LSN_COOKIE = "replica-lsn";
+
+    /** Tenant id (and datasource name) of the replica. */
+    public static final String REPLICA = "replica";
+
+    private static final Pattern LSN = Pattern.compile("[0-9A-Fa-f]{1,8}/[0-9A-Fa-f]{1,8}");
+
+    private boolean requested;
+    private String minLsn;
+    private Boolean caughtUp;
+
+    void request(String cookieLsn) {
+        requested = true;
+        minLsn = isLsn(cookieLsn) ? cookieLsn : null;
+    }
+
+    /** Whether this request may read from the replica at all. */
+    public boolean requested() {
+        return requested;
+    }
+
+    /**
+     * The LSN the replica must have replayed before it can serve this request, or null
+     * if there is nothing (left) to check.
+     */
+    public String pendingLsn() {
+        return requested && caughtUp == null ? minLsn : null;
+    }
+
+    /** Record whether the replica has replayed {@link #pendingLsn()}. */
+    public void caughtUp(boolean value) {
+        caughtUp = value;
+    }
+
+    /** Whether reads should go to the replica, given what is known so far. */
+    public boolean useReplica() {
+        return requested && (minLsn == null || Boolean.TRUE.equals(caughtUp));
+    }
+
+    static boolean isLsn(String value) {
+        return value != null && LSN.matcher(value).matches();
+    }
+}
@@ -0,0 +1,62 @@
+package io.archton.scaffold.replica;
+
+import io.smallrye.common.annotation.NonBlocking;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+/**
+ * Opts {@link ReadReplica} GET requests into replica reads when the replica datasource is
+ * active, passing on the user's last-write LSN cookie for the read-your-writes check.
+ * <p>
+ * When the request's Hibernate session does end up on the replica, it is switched to
+ * {@link CacheMode#GET}: it may read the second-level and query caches the primary
+ * filled, but never puts into them, since a lagging replica would cache stale rows for
+ * every later request on the primary too. The filter runs on the handler's thread, so
+ * the session is only opened here for blocking handlers; the {@code @NonBlocking} graph
+ * endpoints use the reactive client and no ORM session.
+ */
+@Provider
+@ReadReplica
+public class ReplicaRoutingFilter implements ContainerRequestFilter {
+
+    @ConfigProperty(name = "quarkus.datasource.replica.active", defaultValue = "false")
+    boolean active;
+
+    @Inject
+    ReplicaRouting routing;
+
+    @Inject
+    Session session;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!active || !HttpMethod.GET.equals(request.getMethod())
+                || resourceInfo.getResourceMethod().isAnnotationPresent(Transactional.class)
+                || resourceInfo.getResourceClass().isAnnotationPresent(Transactional.class)) {
+            return;
+        }
+        Cookie lsn = request.getCookies().get(ReplicaRouting.LSN_COOKIE);
+        routing.request(lsn != null ? lsn.getValue() : null);
+
+        if (!resourceInfo.getResourceMethod().isAnnotationPresent(NonBlocking.class)) {
+            // Opening the request's session resolves its tenant, including the lag check
+            session.getCacheMode();
+            if (routing.useReplica()) {
+                session.setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+}
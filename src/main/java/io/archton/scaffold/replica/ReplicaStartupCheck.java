@@ -0,0 +1,33 @@
+package io.archton.scaffold.replica;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Refuses to start with the replica active on a build without {@code DATABASE}
+ * multitenancy. Multitenancy is build-time configuration, so activating the replica at
+ * runtime cannot turn it on; ORM reads would then silently stay on the primary while the
+ * reactive graph reads went to the replica.
+ */
+@ApplicationScoped
+public class ReplicaStartupCheck {
+
+    @ConfigProperty(name = "quarkus.datasource.replica.active", defaultValue = "false")
+    boolean active;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    void check(@Observes StartupEvent event) {
+        if (active && !sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().isMultiTenancyEnabled()) {
+            throw new IllegalStateException("quarkus.datasource.replica.active=true needs a build with "
+                + "quarkus.hibernate-orm.multitenant=DATABASE (mvn package -Dquarkus.hibernate-orm.multitenant=DATABASE)");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.archton.scaffold.replica;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Chooses the datasource for each Hibernate session when the persistence unit is built
+ * with {@code DATABASE} multitenancy, where the tenant id is the datasource name. The
+ * request-scoped session of a request that {@link ReplicaRoutingFilter} routed to the
+ * replica uses the {@code replica} datasource; everything else (sessions bound to a
+ * transaction, startup, security checks) uses the default one.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class ReplicaTenantResolver implements TenantResolver {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaTenantResolver.class);
+
+    /** NULL on a server that is not a standby, which keeps such requests on the primary. */
+    static final String REPLAYED_SQL = "SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn";
+
+    @Inject
+    ReplicaRouting routing;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @Inject
+    @DataSource(ReplicaRouting.REPLICA)
+    Instance<AgroalDataSource> replica;
+
+    @Override
+    public String getDefaultTenantId() {
+        return DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (!Arc.container().requestContext().isActive() || !routing.requested()) {
+            return getDefaultTenantId();
+        }
+        // A transaction may write, and loads that must see the primary (ReferenceDataCache)
+        // run in one of their own, even when the request itself was routed
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            return getDefaultTenantId();
+        }
+        String lsn = routing.pendingLsn();
+        if (lsn != null) {
+            routing.caughtUp(replayed(lsn));
+        }
+        return routing.useReplica() ? ReplicaRouting.REPLICA : getDefaultTenantId();
+    }
+
+    private boolean replayed(String lsn) {
+        try (Connection connection = replica.get().getConnection();
+             PreparedStatement ps = connection.prepareStatement(REPLAYED_SQL)) {
+            ps.setString(1, lsn);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Replica lag check failed; reading from the primary");
+            return false;
+        }
+    }
+}
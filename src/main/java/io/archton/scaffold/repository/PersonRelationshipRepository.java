@@ -1,14 +1,20 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.metrics.MeteredRepository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityGraph;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 @ApplicationScoped
+@MeteredRepository
 public class PersonRelationshipRepository implements PanacheRepository<PersonRelationship> {
 
     private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
@@ -22,40 +28,115 @@ public class PersonRelationshipRepository implements PanacheRepository<PersonRel
     }
 
     /**
-     * Find relationships with filter and sort for a given source person.
+     * One keyset page of a person's relationships. {@code nextCursor} is null on the last page.
+     */
+    public record RelationshipPage(List<PersonRelationship> items, String nextCursor) {}
+
+    /** Separates the sort key values inside a cursor; cannot occur in names or descriptions. */
+    private static final String CURSOR_SEPARATOR = "\u001f";
+
+    /**
+     * Find one page of relationships for a source person, with filter and sort.
+     * <p>
+     * Pages are keyset-paged on the sort keys plus id: {@code cursor} is the opaque value
+     * returned as {@code nextCursor} by the previous page (null for the first page), so
+     * every page is a bounded query no matter how deep the user has scrolled.
      * Uses Entity Graph to eagerly load related entities for template rendering.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was built for another sort field
      */
-    public List<PersonRelationship> findBySourcePersonWithFilter(
-            Long sourcePersonId, String filterText, String sortField, String sortDir) {
+    public RelationshipPage findPageBySourcePerson(
+            Long sourcePersonId, String filterText, String sortField, String sortDir,
+            String cursor, int limit) {
 
         EntityGraph<?> graph = getEntityManager().getEntityGraph("PersonRelationship.withDetails");
-        String orderBy = buildOrderBy(sortField, sortDir);
+        List<String> keys = sortKeys(sortField);
+        boolean descending = "desc".equalsIgnoreCase(sortDir);
+
+        StringBuilder query = new StringBuilder("sourcePerson.id = :source");
+        Parameters params = Parameters.with("source", sourcePersonId);
 
         if (filterText != null && !filterText.isBlank()) {
-            String pattern = "%" + filterText.toLowerCase().trim() + "%";
-            return find(
-                "sourcePerson.id = ?1 AND (LOWER(relatedPerson.firstName) LIKE ?2 " +
-                "OR LOWER(relatedPerson.lastName) LIKE ?2 OR LOWER(relationship.description) LIKE ?2) " +
-                orderBy,
-                sourcePersonId, pattern
-            ).withHint(FETCH_GRAPH_HINT, graph).list();
+            query.append(" AND (LOWER(relatedPerson.firstName) LIKE :pattern ")
+                .append("OR LOWER(relatedPerson.lastName) LIKE :pattern OR LOWER(relationship.description) LIKE :pattern)");
+            params.and("pattern", "%" + filterText.toLowerCase().trim() + "%");
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            List<String> after = decodeCursor(cursor, keys.size());
+            query.append(" AND ").append(keysetCondition(keys, descending ? "<" : ">"));
+            for (int i = 0; i < keys.size(); i++) {
+                params.and("k" + i, after.get(i));
+            }
+            params.and("afterId", Long.valueOf(after.get(keys.size())));
         }
 
-        return find("sourcePerson.id = ?1 " + orderBy, sourcePersonId)
+        String direction = descending ? " DESC" : " ASC";
+        query.append(" ORDER BY ");
+        for (String key : keys) {
+            query.append(key).append(direction).append(", ");
+        }
+        query.append("id").append(direction);
+
+        // One extra row tells us whether there is a next page without a count query
+        List<PersonRelationship> rows = find(query.toString(), params)
             .withHint(FETCH_GRAPH_HINT, graph)
+            .range(0, limit)
             .list();
+
+        if (rows.size() <= limit) {
+            return new RelationshipPage(rows, null);
+        }
+        List<PersonRelationship> items = rows.subList(0, limit);
+        return new RelationshipPage(items, encodeCursor(items.get(limit - 1), sortField));
     }
 
-    private String buildOrderBy(String sortField, String sortDir) {
-        String direction = "desc".equalsIgnoreCase(sortDir) ? "DESC" : "ASC";
+    /** Sort keys for a sort field, most significant first; id is always the final tie-breaker. */
+    private static List<String> sortKeys(String sortField) {
         return switch (sortField != null ? sortField : "") {
-            case "firstName" -> "ORDER BY relatedPerson.firstName " + direction + ", relatedPerson.lastName";
-            case "lastName" -> "ORDER BY relatedPerson.lastName " + direction + ", relatedPerson.firstName";
-            case "relationship" -> "ORDER BY relationship.description " + direction;
-            default -> "ORDER BY relatedPerson.lastName, relatedPerson.firstName";
+            case "firstName" -> List.of("relatedPerson.firstName", "relatedPerson.lastName");
+            case "relationship" -> List.of("relationship.description");
+            default -> List.of("relatedPerson.lastName", "relatedPerson.firstName");
         };
     }
 
+    private static List<String> sortValues(PersonRelationship r, String sortField) {
+        return switch (sortField != null ? sortField : "") {
+            case "firstName" -> List.of(r.relatedPerson.firstName, r.relatedPerson.lastName);
+            case "relationship" -> List.of(r.relationship.description);
+            default -> List.of(r.relatedPerson.lastName, r.relatedPerson.firstName);
+        };
+    }
+
+    /**
+     * Expanded row-value comparison {@code (k0, k1, id) > (:k0, :k1, :afterId)}:
+     * {@code k0 > :k0 OR (k0 = :k0 AND (k1 > :k1 OR (k1 = :k1 AND id > :afterId)))}.
+     */
+    private static String keysetCondition(List<String> keys, String op) {
+        String condition = "id " + op + " :afterId";
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            String key = keys.get(i);
+            condition = "(" + key + " " + op + " :k" + i + " OR (" + key + " = :k" + i + " AND " + condition + "))";
+        }
+        return condition;
+    }
+
+    private static String encodeCursor(PersonRelationship last, String sortField) {
+        List<String> values = new ArrayList<>(sortValues(last, sortField));
+        values.add(String.valueOf(last.id));
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(String.join(CURSOR_SEPARATOR, values).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> decodeCursor(String cursor, int keyCount) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        List<String> values = List.of(decoded.split(CURSOR_SEPARATOR, -1));
+        if (values.size() != keyCount + 1) {
+            throw new IllegalArgumentException("Invalid cursor for this sort order.");
+        }
+        return values;
+    }
+
     /**
      * Check if relationship already exists (for unique constraint validation).
      */
@@ -1,15 +1,31 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.metrics.MeteredRepository;
+import io.archton.scaffold.service.exception.UniqueConstraintException;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@MeteredRepository
 public class PersonRepository implements PanacheRepository<Person> {
 
+    /** Unique index on LOWER(email), see V1.8.0. */
+    public static final String EMAIL_UNIQUE_INDEX = "uq_person_email_lower";
+
+    private static final String FILTER_CONDITION =
+        "(LOWER(firstName) LIKE ?1 OR LOWER(lastName) LIKE ?1 OR LOWER(email) LIKE ?1)";
+
     public Optional<Person> findByEmail(String email) {
         return find("LOWER(email)", email.toLowerCase().trim()).firstResultOptional();
     }
@@ -33,29 +49,64 @@ public class PersonRepository implements PanacheRepository<Person> {
     public PanacheQuery<Person> findByFilterPaged(String filterText, String sortField, String sortDir) {
         String orderBy = buildOrderBy(sortField, sortDir);
         if (filterText != null && !filterText.isBlank()) {
-            String pattern = "%" + filterText.toLowerCase().trim() + "%";
-            return find(
-                "LOWER(firstName) LIKE ?1 OR LOWER(lastName) LIKE ?1 OR LOWER(email) LIKE ?1 " + orderBy,
-                pattern
-            );
+            return find(FILTER_CONDITION + " " + orderBy, filterPattern(filterText));
         }
         return find("FROM Person " + orderBy);
     }
 
+    /**
+     * Flat export row: the person's columns with title and gender descriptions joined in,
+     * so streaming an export never touches the persistence context or lazy associations.
+     */
+    public record ExportRow(Long id, String firstName, String lastName, String email, String phone,
+                            LocalDate dateOfBirth, String title, String gender, String notes) {}
+
+    /**
+     * Open a forward-only cursor over the persons matching the same filter and ordering
+     * as {@link #findByFilterPaged}. Rows are pulled from the database {@code fetchSize}
+     * at a time; the caller must close the results (and needs an open transaction).
+     */
+    public ScrollableResults<ExportRow> scrollForExport(StatelessSession session, String filterText,
+                                                        String sortField, String sortDir, int fetchSize) {
+        boolean filtered = filterText != null && !filterText.isBlank();
+        String hql = "SELECT p.id, p.firstName, p.lastName, p.email, p.phone, p.dateOfBirth, "
+            + "t.description, g.description, p.notes "
+            + "FROM Person p LEFT JOIN p.title t LEFT JOIN p.gender g "
+            + (filtered ? "WHERE " + FILTER_CONDITION + " " : "")
+            + buildOrderBy(sortField, sortDir);
+        SelectionQuery<ExportRow> query = session.createSelectionQuery(hql, ExportRow.class);
+        if (filtered) {
+            query.setParameter(1, filterPattern(filterText));
+        }
+        return query
+            .setFetchSize(fetchSize)
+            .setReadOnly(true)
+            .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
     public List<Person> findByFilter(String filterText, String sortField, String sortDir) {
         String orderBy = buildOrderBy(sortField, sortDir);
 
         if (filterText != null && !filterText.isBlank()) {
-            String pattern = "%" + filterText.toLowerCase().trim() + "%";
-            return list(
-                "LOWER(firstName) LIKE ?1 OR LOWER(lastName) LIKE ?1 OR LOWER(email) LIKE ?1 " +
-                    orderBy,
-                pattern
-            );
+            return list(FILTER_CONDITION + " " + orderBy, filterPattern(filterText));
         }
         return find("FROM Person " + orderBy).list();
     }
 
+    /**
+     * Whether a saved person is the first row {@link #findByFilterPaged} returns for this
+     * view: it matches the filter and sorts ahead of every other match, using the database's
+     * own collation and ordering.
+     */
+    public boolean isFirstInView(Person person, String filterText, String sortField, String sortDir) {
+        Person first = findByFilterPaged(filterText, sortField, sortDir).firstResult();
+        return first != null && first.id.equals(person.id);
+    }
+
+    private static String filterPattern(String filterText) {
+        return "%" + filterText.toLowerCase().trim() + "%";
+    }
+
     private String buildOrderBy(String sortField, String sortDir) {
         String direction = "desc".equalsIgnoreCase(sortDir) ? "DESC" : "ASC";
         String orderBy = switch (sortField != null ? sortField : "") {
@@ -67,11 +118,33 @@ public class PersonRepository implements PanacheRepository<Person> {
         return "ORDER BY " + orderBy;
     }
 
-    public boolean existsByEmail(String email) {
-        return count("LOWER(email) = LOWER(?1)", email.trim()) > 0;
+    /**
+     * Insert and flush immediately, so a duplicate email surfaces here as a
+     * {@link UniqueConstraintException} (from the {@value #EMAIL_UNIQUE_INDEX} index)
+     * rather than at commit.
+     */
+    public void persistUnique(Person person) {
+        try {
+            persistAndFlush(person);
+        } catch (PersistenceException e) {
+            throw translateEmailViolation(e, person.email);
+        }
+    }
+
+    /**
+     * Flush pending changes to a managed person, translating a duplicate email like
+     * {@link #persistUnique}.
+     */
+    public void flushUnique(Person person) {
+        try {
+            flush();
+        } catch (PersistenceException e) {
+            throw translateEmailViolation(e, person.email);
+        }
     }
 
-    public boolean existsByEmailAndIdNot(String email, Long id) {
-        return count("LOWER(email) = LOWER(?1) AND id != ?2", email.trim(), id) > 0;
+    private static RuntimeException translateEmailViolation(PersistenceException e, String email) {
+        return UniqueConstraintException.translate(e, EMAIL_UNIQUE_INDEX, "email", email,
+            "Email already registered.");
     }
 }
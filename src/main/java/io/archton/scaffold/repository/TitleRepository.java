@@ -1,13 +1,16 @@
 package io.archton.scaffold.repository;
 
 import io.archton.scaffold.entity.Title;
+import io.archton.scaffold.metrics.MeteredRepository;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.hibernate.jpa.HibernateHints;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@MeteredRepository
 public class TitleRepository implements PanacheRepository<Title> {
 
     @Inject
@@ -21,8 +24,14 @@ public class TitleRepository implements PanacheRepository<Title> {
         return find("description", description).firstResultOptional();
     }
 
+    /**
+     * List all rows ordered by code. The result is held in the query cache and the
+     * rows in the second-level cache, so repeated calls do not reach the database.
+     */
     public List<Title> listAllOrdered() {
-        return list("ORDER BY code ASC");
+        return find("ORDER BY code ASC")
+            .withHint(HibernateHints.HINT_CACHEABLE, true)
+            .list();
     }
 
     public boolean existsByCode(String code) {
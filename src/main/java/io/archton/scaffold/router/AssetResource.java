@@ -0,0 +1,44 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.service.StaticAssets;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Serves the content-hashed URLs produced by {@link StaticAssets#url(String)}, with the
+ * precompressed representation the client accepts.
+ */
+@Path("/assets")
+public class AssetResource {
+
+    static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Inject
+    StaticAssets staticAssets;
+
+    @GET
+    @Path("/{hash}/{path: .+}")
+    public Response asset(
+            @PathParam("hash") String hash,
+            @PathParam("path") String path,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+
+        StaticAssets.Asset asset = staticAssets.find(path).orElse(null);
+        if (asset == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+
+        StaticAssets.Encoding encoding = asset.encodingFor(acceptEncoding);
+        return Response.ok(asset.body(encoding), asset.contentType())
+            .header(HttpHeaders.CONTENT_ENCODING, encoding.header())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            // A stale hash (page rendered before a redeploy) gets the current file, uncached
+            .header(HttpHeaders.CACHE_CONTROL, asset.hash().equals(hash) ? IMMUTABLE : "no-cache")
+            .build();
+    }
+}
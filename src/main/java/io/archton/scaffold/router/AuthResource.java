@@ -1,9 +1,13 @@
 package io.archton.scaffold.router;
 
+import io.archton.scaffold.service.LoginRateLimits;
+import io.archton.scaffold.service.PasswordHasher;
 import io.archton.scaffold.service.PasswordValidator;
 import io.archton.scaffold.service.UserLoginService;
+import io.archton.scaffold.service.exception.UniqueConstraintException;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.FormParam;
@@ -20,6 +24,7 @@ import io.vertx.ext.web.RoutingContext;
 import java.util.List;
 
 @Path("/")
+@RunOnVirtualThread
 public class AuthResource {
 
     @Inject
@@ -28,6 +33,12 @@ public class AuthResource {
     @Inject
     UserLoginService userLoginService;
 
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    LoginRateLimits loginRateLimits;
+
     @Inject
     RoutingContext routingContext;
 
@@ -120,14 +131,19 @@ public class AuthResource {
             return Response.seeOther(URI.create("/signup?error=password_required")).build();
         }
 
-        // Check for duplicate email (case-insensitive)
-        if (userLoginService.emailExists(trimmedEmail)) {
+        // Per-email attempt budget, checked before the password is hashed (429 when exceeded)
+        loginRateLimits.checkEmail(trimmedEmail);
+
+        // Hash on the hashing pool before the transaction starts (503 if it is full), then
+        // create the user with the default 'user' role; a duplicate email (case-insensitive)
+        // is rejected by the database's unique index
+        String passwordHash = passwordHasher.hash(password);
+        try {
+            userLoginService.createHashed(trimmedEmail, passwordHash, "user");
+        } catch (UniqueConstraintException e) {
             return Response.seeOther(URI.create("/signup?error=email_exists")).build();
         }
 
-        // Create user with default 'user' role
-        userLoginService.create(trimmedEmail, password, "user");
-
         // Redirect to login page on success
         return Response.seeOther(URI.create("/?login=true")).build();
     }
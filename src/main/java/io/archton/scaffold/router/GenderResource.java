@@ -2,9 +2,11 @@ package io.archton.scaffold.router;
 
 import io.archton.scaffold.entity.Gender;
 import io.archton.scaffold.repository.GenderRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -23,6 +25,7 @@ import java.util.List;
 
 @Path("/genders")
 @RolesAllowed("admin")
+@RunOnVirtualThread
 public class GenderResource {
 
     @Inject
@@ -31,6 +34,9 @@ public class GenderResource {
     @Inject
     GenderRepository genderRepository;
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
     @CheckedTemplate
     public static class Templates {
         // Full page
@@ -139,6 +145,7 @@ public class GenderResource {
         
         // Persist
         genderRepository.persist(gender);
+        referenceDataCache.invalidate();
         
         // Return success with OOB table refresh
         List<Gender> genders = genderRepository.listAllOrdered();
@@ -199,6 +206,7 @@ public class GenderResource {
         gender.updatedBy = userName;
 
         // Persist changes (entity is already managed, changes will be flushed)
+        referenceDataCache.invalidate();
 
         // Return success with OOB single row update
         return Templates.gender$modal_success_row("Gender updated successfully.", gender);
@@ -238,6 +246,7 @@ public class GenderResource {
         }
 
         genderRepository.delete(gender);
+        referenceDataCache.invalidate();
 
         // Return success with OOB row removal
         return Templates.gender$modal_delete_success(id);
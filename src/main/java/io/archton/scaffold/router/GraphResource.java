@@ -1,16 +1,18 @@
 package io.archton.scaffold.router;
 
 import io.archton.scaffold.entity.Person;
-import io.archton.scaffold.entity.PersonRelationship;
-import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.replica.ReadReplica;
 import io.archton.scaffold.repository.PersonRepository;
-import io.archton.scaffold.repository.PersonRelationshipRepository;
-import io.archton.scaffold.repository.RelationshipRepository;
+import io.archton.scaffold.service.GraphReadService;
 import io.archton.scaffold.service.NetworkService;
-import io.quarkus.panache.common.Sort;
+import io.archton.scaffold.service.ReferenceDataCache;
+import io.archton.scaffold.service.SelectOptions;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.NonBlocking;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.DefaultValue;
@@ -33,19 +35,18 @@ import java.util.Set;
 
 @Path("/graph")
 @RolesAllowed({"user", "admin"})
+@RunOnVirtualThread
+@ReadReplica
 public class GraphResource {
 
     @Inject
     PersonRepository personRepository;
 
     @Inject
-    PersonRelationshipRepository personRelationshipRepository;
+    ReferenceDataCache referenceDataCache;
 
     @Inject
-    RelationshipRepository relationshipRepository;
-
-    @Inject
-    NetworkService networkService;
+    GraphReadService graphReadService;
 
     @Inject
     SecurityIdentity securityIdentity;
@@ -53,7 +54,7 @@ public class GraphResource {
     @CheckedTemplate
     public static class Templates {
         public static native TemplateInstance graph(
-            String currentPage, String userName, List<Relationship> relationships);
+            String currentPage, String userName, SelectOptions relationshipOptions);
         public static native TemplateInstance personModal(Person person);
         public static native TemplateInstance network(
             String title, String currentPage, String userName,
@@ -89,16 +90,23 @@ public class GraphResource {
     @GET
     @Produces(MediaType.TEXT_HTML)
     public TemplateInstance showGraph() {
-        List<Relationship> relationships = relationshipRepository.listAll(
-            Sort.by("description"));
-        return Templates.graph("graph", getCurrentUserName(), relationships);
+        SelectOptions relationshipOptions = referenceDataCache.snapshot().relationshipFilterOptions();
+        return Templates.graph("graph", getCurrentUserName(), relationshipOptions);
     }
 
+    /**
+     * Read-only and dominated by database I/O, so it runs on the event loop with the
+     * reactive client (see {@link GraphReadService}) instead of holding a worker thread.
+     * Nodes and edges are queried concurrently.
+     */
     @GET
     @Path("/data")
     @Produces(MediaType.APPLICATION_JSON)
-    public GraphData getGraphData() {
-        return buildGraphData();
+    @NonBlocking
+    public Uni<GraphData> getGraphData() {
+        return Uni.combine().all().unis(graphReadService.nodes(), graphReadService.edges())
+            .asTuple()
+            .map(t -> buildGraphData(t.getItem1(), t.getItem2()));
     }
 
     @GET
@@ -112,87 +120,93 @@ public class GraphResource {
         return Templates.personModal(person);
     }
 
+    /**
+     * Non-blocking like {@link #getGraphData()}: the BFS queries run on the reactive client
+     * and the page is rendered asynchronously once the network is complete.
+     */
     @GET
     @Path("/network/{personId}")
     @Produces(MediaType.TEXT_HTML)
-    public TemplateInstance showPersonNetwork(
+    @NonBlocking
+    public Uni<String> showPersonNetwork(
             @PathParam("personId") Long personId,
             @QueryParam("depth") @DefaultValue("1") int depth,
             @HeaderParam("HX-Request") String hxRequest) {
 
-        if (depth < 1 || depth > 3) depth = 1;
+        int requestedDepth = depth < 1 || depth > 3 ? 1 : depth;
+        String userName = getCurrentUserName();
 
-        NetworkService.NetworkResult network = networkService.buildNetwork(personId, depth);
-        if (network == null) {
-            throw new WebApplicationException(Response.Status.NOT_FOUND);
-        }
+        return graphReadService.buildNetwork(personId, requestedDepth).chain(network -> {
+            if (network == null) {
+                throw new WebApplicationException(Response.Status.NOT_FOUND);
+            }
 
-        boolean hasDepth2 = depth >= 2;
-        boolean hasDepth3 = depth >= 3;
+            boolean hasDepth2 = requestedDepth >= 2;
+            boolean hasDepth3 = requestedDepth >= 3;
 
-        if ("true".equals(hxRequest)) {
-            return Templates.network$connections(network, depth, hasDepth2, hasDepth3);
-        }
+            if ("true".equals(hxRequest)) {
+                return Templates.network$connections(network, requestedDepth, hasDepth2, hasDepth3).createUni();
+            }
 
-        return Templates.network(
-            "Network: " + network.focalPerson().getDisplayName(),
-            "graph",
-            getCurrentUserName(),
-            network,
-            depth,
-            hasDepth2,
-            hasDepth3
-        );
+            return Templates.network(
+                "Network: " + network.focalPerson().getDisplayName(),
+                "graph",
+                userName,
+                network,
+                requestedDepth,
+                hasDepth2,
+                hasDepth3
+            ).createUni();
+        });
     }
 
     private String getCurrentUserName() {
         return securityIdentity.isAnonymous() ? null : securityIdentity.getPrincipal().getName();
     }
 
-    private GraphData buildGraphData() {
+    /**
+     * Assemble the graph JSON: one node per person with its relationship count, and one
+     * link per distinct (person pair, relationship type).
+     */
+    static GraphData buildGraphData(List<GraphReadService.NodeRow> persons,
+                                    List<GraphReadService.EdgeRow> allRelationships) {
         GraphData data = new GraphData();
-        data.nodes = new ArrayList<>();
+        data.nodes = new ArrayList<>(persons.size());
         data.links = new ArrayList<>();
 
-        // Build node map for relationship counting
-        Map<Long, GraphNode> nodeMap = new HashMap<>();
-        Map<Long, Integer> relationshipCounts = new HashMap<>();
-
         // Count relationships per person
-        List<PersonRelationship> allRelationships = personRelationshipRepository.listAll();
-        for (PersonRelationship pr : allRelationships) {
-            relationshipCounts.merge(pr.sourcePerson.id, 1, Integer::sum);
-            relationshipCounts.merge(pr.relatedPerson.id, 1, Integer::sum);
+        Map<Long, Integer> relationshipCounts = new HashMap<>();
+        for (GraphReadService.EdgeRow pr : allRelationships) {
+            relationshipCounts.merge(pr.sourceId(), 1, Integer::sum);
+            relationshipCounts.merge(pr.targetId(), 1, Integer::sum);
         }
 
         // Build nodes
-        List<Person> persons = personRepository.listAll();
-        for (Person p : persons) {
+        for (GraphReadService.NodeRow p : persons) {
             GraphNode node = new GraphNode();
-            node.id = p.id;
-            node.firstName = p.firstName;
-            node.lastName = p.lastName;
-            node.email = p.email;
-            node.genderCode = p.gender != null ? p.gender.code : null;
-            node.relationshipCount = relationshipCounts.getOrDefault(p.id, 0);
+            node.id = p.id();
+            node.firstName = p.firstName();
+            node.lastName = p.lastName();
+            node.email = p.email();
+            node.genderCode = p.genderCode();
+            node.relationshipCount = relationshipCounts.getOrDefault(p.id(), 0);
             data.nodes.add(node);
-            nodeMap.put(p.id, node);
         }
 
         // Build links (avoiding duplicates for bidirectional relationships)
         Set<String> processedLinks = new HashSet<>();
-        for (PersonRelationship pr : allRelationships) {
+        for (GraphReadService.EdgeRow pr : allRelationships) {
             // Create normalized key to avoid duplicate edges
-            Long minId = Math.min(pr.sourcePerson.id, pr.relatedPerson.id);
-            Long maxId = Math.max(pr.sourcePerson.id, pr.relatedPerson.id);
-            String key = minId + "-" + maxId + "-" + pr.relationship.id;
+            Long minId = Math.min(pr.sourceId(), pr.targetId());
+            Long maxId = Math.max(pr.sourceId(), pr.targetId());
+            String key = minId + "-" + maxId + "-" + pr.relationshipId();
 
             if (!processedLinks.contains(key)) {
                 GraphLink link = new GraphLink();
-                link.source = pr.sourcePerson.id;
-                link.target = pr.relatedPerson.id;
-                link.relationshipType = pr.relationship.description;
-                link.relationshipCode = pr.relationship.code;
+                link.source = pr.sourceId();
+                link.target = pr.targetId();
+                link.relationshipType = pr.description();
+                link.relationshipCode = pr.code();
                 data.links.add(link);
                 processedLinks.add(key);
             }
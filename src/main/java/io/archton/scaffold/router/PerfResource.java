@@ -0,0 +1,62 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.metrics.QueryMonitor;
+import io.quarkus.qute.CheckedTemplate;
+import io.quarkus.qute.TemplateInstance;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Query performance report: Hibernate statistics per query and entity, slow statements
+ * and repeated (N+1) loads, see {@link QueryMonitor}.
+ */
+@Path("/admin/perf")
+@RolesAllowed("admin")
+@RunOnVirtualThread
+public class PerfResource {
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
+    @Inject
+    QueryMonitor queryMonitor;
+
+    @CheckedTemplate
+    public static class Templates {
+        public static native TemplateInstance perf(
+            String title,
+            String currentPage,
+            String userName,
+            QueryMonitor.Report report
+        );
+
+        public static native TemplateInstance perf$report(QueryMonitor.Report report);
+    }
+
+    @GET
+    @Produces(MediaType.TEXT_HTML)
+    public TemplateInstance show(@HeaderParam("HX-Request") String hxRequest) {
+        QueryMonitor.Report report = queryMonitor.report();
+        if ("true".equals(hxRequest)) {
+            return Templates.perf$report(report);
+        }
+        String userName = securityIdentity.isAnonymous() ? null : securityIdentity.getPrincipal().getName();
+        return Templates.perf("Performance", "perf", userName, report);
+    }
+
+    @POST
+    @Path("/reset")
+    @Produces(MediaType.TEXT_HTML)
+    public TemplateInstance reset() {
+        queryMonitor.reset();
+        return Templates.perf$report(queryMonitor.report());
+    }
+}
@@ -0,0 +1,83 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.service.PersonImportService;
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import io.quarkus.qute.CheckedTemplate;
+import io.quarkus.qute.TemplateInstance;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.jboss.resteasy.reactive.RestForm;
+import org.jboss.resteasy.reactive.multipart.FileUpload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+@Path("/persons/import")
+@RolesAllowed({"user", "admin"})
+@RunOnVirtualThread
+public class PersonImportResource {
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
+    @Inject
+    PersonImportService personImportService;
+
+    @CheckedTemplate
+    public static class Templates {
+        public static native TemplateInstance personImport$modal_upload(String error);
+        public static native TemplateInstance personImport$status(PersonImportService.ImportJob job);
+    }
+
+    @GET
+    @Produces(MediaType.TEXT_HTML)
+    public TemplateInstance uploadForm() {
+        return Templates.personImport$modal_upload(null);
+    }
+
+    @POST
+    @Consumes(MediaType.MULTIPART_FORM_DATA)
+    @Produces(MediaType.TEXT_HTML)
+    public TemplateInstance upload(@RestForm("file") FileUpload file) throws IOException {
+        if (file == null || file.size() == 0) {
+            return Templates.personImport$modal_upload("Please choose a CSV file.");
+        }
+
+        // Uploads are deleted at the end of the request; the job outlives it
+        java.nio.file.Path csvFile = Files.createTempFile("person-import-", ".csv");
+        Files.move(file.uploadedFile(), csvFile, StandardCopyOption.REPLACE_EXISTING);
+
+        PersonImportService.ImportJob job;
+        try {
+            job = personImportService.start(csvFile, file.fileName(), userName());
+        } catch (ServiceOverloadedException e) {
+            return Templates.personImport$modal_upload("Too many imports are in progress. Please try again shortly.");
+        }
+        return Templates.personImport$status(job);
+    }
+
+    @GET
+    @Path("/{jobId}")
+    @Produces(MediaType.TEXT_HTML)
+    public TemplateInstance status(@PathParam("jobId") String jobId) {
+        PersonImportService.ImportJob job = personImportService.find(jobId, userName());
+        if (job == null) {
+            return Templates.personImport$modal_upload("Import not found or expired.");
+        }
+        return Templates.personImport$status(job);
+    }
+
+    private String userName() {
+        return securityIdentity.isAnonymous() ? "system" : securityIdentity.getPrincipal().getName();
+    }
+}
@@ -3,15 +3,19 @@ package io.archton.scaffold.router;
 import io.archton.scaffold.entity.Person;
 import io.archton.scaffold.entity.PersonRelationship;
 import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.replica.ReadReplica;
 import io.archton.scaffold.repository.PersonRelationshipRepository;
 import io.archton.scaffold.repository.PersonRepository;
-import io.archton.scaffold.repository.RelationshipRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
+import io.archton.scaffold.service.SelectOptions;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
@@ -30,8 +34,12 @@ import java.util.List;
 
 @Path("/persons/{personId}/relationships")
 @RolesAllowed({"user", "admin"})
+@RunOnVirtualThread
 public class PersonRelationshipResource {
 
+    /** Rows per keyset page; further pages load as the last row scrolls into view. */
+    static final int PAGE_SIZE = 50;
+
     @Inject
     SecurityIdentity securityIdentity;
 
@@ -42,7 +50,7 @@ public class PersonRelationshipResource {
     PersonRelationshipRepository personRelationshipRepository;
 
     @Inject
-    RelationshipRepository relationshipRepository;
+    ReferenceDataCache referenceDataCache;
 
     @CheckedTemplate
     public static class Templates {
@@ -53,8 +61,9 @@ public class PersonRelationshipResource {
             String userName,
             Person sourcePerson,
             List<PersonRelationship> relationships,
+            String nextCursor,
             List<Person> personChoices,
-            List<Relationship> relationshipChoices,
+            SelectOptions relationshipChoices,
             String filterText,
             String sortField,
             String sortDir
@@ -64,14 +73,26 @@ public class PersonRelationshipResource {
         public static native TemplateInstance personRelationship$table(
             Person sourcePerson,
             List<PersonRelationship> relationships,
-            String filterText
+            String nextCursor,
+            String filterText,
+            String sortField,
+            String sortDir
+        );
+
+        public static native TemplateInstance personRelationship$rows(
+            Person sourcePerson,
+            List<PersonRelationship> relationships,
+            String nextCursor,
+            String filterText,
+            String sortField,
+            String sortDir
         );
 
         public static native TemplateInstance personRelationship$modal_create(
             Person sourcePerson,
             PersonRelationship personRelationship,
             List<Person> personChoices,
-            List<Relationship> relationshipChoices,
+            SelectOptions relationshipChoices,
             String error
         );
 
@@ -79,7 +100,7 @@ public class PersonRelationshipResource {
             Person sourcePerson,
             PersonRelationship personRelationship,
             List<Person> personChoices,
-            List<Relationship> relationshipChoices,
+            SelectOptions relationshipChoices,
             String error
         );
 
@@ -93,7 +114,7 @@ public class PersonRelationshipResource {
             String message,
             Person sourcePerson,
             List<PersonRelationship> relationships,
-            String filterText
+            String nextCursor
         );
 
         public static native TemplateInstance personRelationship$modal_success_row(
@@ -120,7 +141,7 @@ public class PersonRelationshipResource {
             .filter(p -> !p.id.equals(personId))
             .toList();
 
-        List<Relationship> relationshipChoices = relationshipRepository.listAllOrdered();
+        SelectOptions relationshipChoices = referenceDataCache.snapshot().relationshipOptions();
 
         return Response.ok(Templates.personRelationship$modal_create(
             sourcePerson,
@@ -148,16 +169,15 @@ public class PersonRelationshipResource {
         List<Person> personChoices = personRepository.listAllOrderedWithTitle().stream()
             .filter(p -> !p.id.equals(personId))
             .toList();
-        List<Relationship> relationshipChoices = relationshipRepository.listAllOrdered();
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        SelectOptions relationshipChoices = lookups.relationshipOptions();
 
         // Build a partial entity for form re-population
         PersonRelationship formData = new PersonRelationship();
         if (relatedPersonId != null) {
             formData.relatedPerson = personRepository.findById(relatedPersonId);
         }
-        if (relationshipId != null) {
-            formData.relationship = relationshipRepository.findById(relationshipId);
-        }
+        formData.relationship = lookups.relationship(relationshipId);
 
         // Validate relatedPersonId
         if (relatedPersonId == null) {
@@ -183,9 +203,9 @@ public class PersonRelationshipResource {
             )).build();
         }
 
-        // Fetch related entities
+        // Fetch related entities (relationship type comes from the cached lookups)
         Person relatedPerson = personRepository.findById(relatedPersonId);
-        Relationship relationship = relationshipRepository.findById(relationshipId);
+        Relationship relationship = formData.relationship;
 
         if (relatedPerson == null || relationship == null) {
             return Response.ok(Templates.personRelationship$modal_create(
@@ -206,15 +226,15 @@ public class PersonRelationshipResource {
 
         personRelationshipRepository.persist(newRelationship);
 
-        // Refresh relationships list
-        List<PersonRelationship> relationships = personRelationshipRepository
-            .findBySourcePersonWithFilter(personId, null, null, null);
+        // Refresh the first page of the relationships list
+        PersonRelationshipRepository.RelationshipPage page = personRelationshipRepository
+            .findPageBySourcePerson(personId, null, null, null, null, PAGE_SIZE);
 
         return Response.ok(Templates.personRelationship$modal_success(
             "Relationship created successfully.",
             sourcePerson,
-            relationships,
-            null
+            page.items(),
+            page.nextCursor()
         )).build();
     }
 
@@ -236,7 +256,7 @@ public class PersonRelationshipResource {
                 sourcePerson,
                 new PersonRelationship(),
                 List.of(),
-                List.of(),
+                SelectOptions.EMPTY,
                 "Relationship not found."
             )).build();
         }
@@ -246,7 +266,7 @@ public class PersonRelationshipResource {
             .filter(p -> !p.id.equals(personId))
             .toList();
 
-        List<Relationship> relationshipChoices = relationshipRepository.listAllOrdered();
+        SelectOptions relationshipChoices = referenceDataCache.snapshot().relationshipOptions();
 
         return Response.ok(Templates.personRelationship$modal_edit(
             sourcePerson,
@@ -278,7 +298,7 @@ public class PersonRelationshipResource {
                 sourcePerson,
                 new PersonRelationship(),
                 List.of(),
-                List.of(),
+                SelectOptions.EMPTY,
                 "Relationship not found."
             )).build();
         }
@@ -287,7 +307,8 @@ public class PersonRelationshipResource {
         List<Person> personChoices = personRepository.listAllOrderedWithTitle().stream()
             .filter(p -> !p.id.equals(personId))
             .toList();
-        List<Relationship> relationshipChoices = relationshipRepository.listAllOrdered();
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        SelectOptions relationshipChoices = lookups.relationshipOptions();
 
         // Build form data for repopulation on error
         PersonRelationship formData = new PersonRelationship();
@@ -300,9 +321,7 @@ public class PersonRelationshipResource {
         if (relatedPersonId != null) {
             formData.relatedPerson = personRepository.findById(relatedPersonId);
         }
-        if (relationshipId != null) {
-            formData.relationship = relationshipRepository.findById(relationshipId);
-        }
+        formData.relationship = lookups.relationship(relationshipId);
 
         // Validate relatedPersonId
         if (relatedPersonId == null) {
@@ -328,9 +347,9 @@ public class PersonRelationshipResource {
             )).build();
         }
 
-        // Fetch related entities
+        // Fetch related entities (relationship type comes from the cached lookups)
         Person relatedPerson = personRepository.findById(relatedPersonId);
-        Relationship relationship = relationshipRepository.findById(relationshipId);
+        Relationship relationship = formData.relationship;
 
         if (relatedPerson == null || relationship == null) {
             return Response.ok(Templates.personRelationship$modal_edit(
@@ -409,12 +428,14 @@ public class PersonRelationshipResource {
 
     @GET
     @Produces(MediaType.TEXT_HTML)
+    @ReadReplica
     public Response list(
             @PathParam("personId") Long personId,
             @HeaderParam("HX-Request") String hxRequest,
             @QueryParam("filter") String filter,
             @QueryParam("sortField") String sortField,
-            @QueryParam("sortDir") String sortDir) {
+            @QueryParam("sortDir") String sortDir,
+            @QueryParam("cursor") String cursor) {
 
         Person sourcePerson = personRepository.findById(personId);
         if (sourcePerson == null) {
@@ -422,12 +443,22 @@ public class PersonRelationshipResource {
             return Response.seeOther(URI.create("/persons")).build();
         }
 
-        List<PersonRelationship> relationships = personRelationshipRepository
-            .findBySourcePersonWithFilter(personId, filter, sortField, sortDir);
+        PersonRelationshipRepository.RelationshipPage page;
+        try {
+            page = personRelationshipRepository
+                .findPageBySourcePerson(personId, filter, sortField, sortDir, cursor, PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
 
-        // If HTMX request, return only the table fragment
+        // If HTMX request, return only the next rows (infinite scroll) or the table fragment
         if ("true".equals(hxRequest)) {
-            return Response.ok(Templates.personRelationship$table(sourcePerson, relationships, filter)).build();
+            if (cursor != null && !cursor.isBlank()) {
+                return Response.ok(StreamingTemplate.of(Templates.personRelationship$rows(
+                    sourcePerson, page.items(), page.nextCursor(), filter, sortField, sortDir))).build();
+            }
+            return Response.ok(StreamingTemplate.of(Templates.personRelationship$table(
+                sourcePerson, page.items(), page.nextCursor(), filter, sortField, sortDir))).build();
         }
 
         // Full page request
@@ -438,19 +469,20 @@ public class PersonRelationshipResource {
             .filter(p -> !p.id.equals(personId))
             .toList();
 
-        List<Relationship> relationshipChoices = relationshipRepository.listAllOrdered();
+        SelectOptions relationshipChoices = referenceDataCache.snapshot().relationshipOptions();
 
-        return Response.ok(Templates.personRelationship(
+        return Response.ok(StreamingTemplate.of(Templates.personRelationship(
             "Relationships for " + sourcePerson.getDisplayName(),
             "persons",
             userName,
             sourcePerson,
-            relationships,
+            page.items(),
+            page.nextCursor(),
             personChoices,
             relationshipChoices,
             filter,
             sortField,
             sortDir
-        )).build();
+        ))).build();
     }
 }
@@ -1,16 +1,18 @@
 package io.archton.scaffold.router;
 
-import io.archton.scaffold.entity.Gender;
 import io.archton.scaffold.entity.Person;
-import io.archton.scaffold.entity.Title;
-import io.archton.scaffold.repository.GenderRepository;
+import io.archton.scaffold.replica.ReadReplica;
 import io.archton.scaffold.repository.PersonRepository;
-import io.archton.scaffold.repository.TitleRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
+import io.archton.scaffold.service.SelectOptions;
+import io.archton.scaffold.service.exception.UniqueConstraintException;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.panache.common.Page;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -25,13 +27,31 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
 import jakarta.ws.rs.core.MediaType;
-
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 @Path("/persons")
 @RolesAllowed({"user", "admin"})
+@RunOnVirtualThread
 public class PersonResource {
 
     @Inject
@@ -41,10 +61,13 @@ public class PersonResource {
     PersonRepository personRepository;
 
     @Inject
-    TitleRepository titleRepository;
+    SessionFactory sessionFactory;
+
+    @ConfigProperty(name = "app.person-export.transaction-timeout", defaultValue = "600")
+    int exportTimeoutSeconds;
 
     @Inject
-    GenderRepository genderRepository;
+    ReferenceDataCache referenceDataCache;
 
     @CheckedTemplate
     public static class Templates {
@@ -54,8 +77,8 @@ public class PersonResource {
             String currentPage,
             String userName,
             List<Person> persons,
-            List<Title> titleChoices,
-            List<Gender> genderChoices,
+            SelectOptions titleChoices,
+            SelectOptions genderChoices,
             String filterText,
             String sortField,
             String sortDir,
@@ -82,14 +105,14 @@ public class PersonResource {
         // Modal content fragments (for future use cases)
         public static native TemplateInstance person$modal_create(
             Person person,
-            List<Title> titleChoices,
-            List<Gender> genderChoices,
+            SelectOptions titleChoices,
+            SelectOptions genderChoices,
             String error
         );
         public static native TemplateInstance person$modal_edit(
             Person person,
-            List<Title> titleChoices,
-            List<Gender> genderChoices,
+            SelectOptions titleChoices,
+            SelectOptions genderChoices,
             String error
         );
         public static native TemplateInstance person$modal_detail(
@@ -103,14 +126,10 @@ public class PersonResource {
         // Success response fragments (for future use cases)
         public static native TemplateInstance person$modal_success(
             String message,
-            List<Person> persons,
-            String filterText,
-            int page,
-            int size,
-            int totalPages,
-            long totalCount,
-            List<Integer> pageWindow,
-            boolean hasNextPage
+            Person person,
+            boolean inView,
+            String listUrl,
+            int size
         );
         public static native TemplateInstance person$modal_success_row(
             String message,
@@ -123,7 +142,8 @@ public class PersonResource {
 
     @GET
     @Produces(MediaType.TEXT_HTML)
-    public TemplateInstance list(
+    @ReadReplica
+    public Response list(
             @HeaderParam("HX-Request") String hxRequest,
             @QueryParam("filter") String filter,
             @QueryParam("sortField") String sortField,
@@ -146,21 +166,21 @@ public class PersonResource {
 
         // If HTMX request, return only the table fragment
         if ("true".equals(hxRequest)) {
-            return Templates.person$table(persons, filter, page, size, totalPages, totalCount, pageWindow, hasNextPage);
+            return Response.ok(StreamingTemplate.of(Templates.person$table(
+                persons, filter, page, size, totalPages, totalCount, pageWindow, hasNextPage))).build();
         }
 
         // Full page request
         String userName = securityIdentity.isAnonymous() ? null : securityIdentity.getPrincipal().getName();
-        List<Title> titleChoices = titleRepository.listAllOrdered();
-        List<Gender> genderChoices = genderRepository.listAllOrdered();
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
 
-        return Templates.person(
+        return Response.ok(StreamingTemplate.of(Templates.person(
             "Person Management",
             "persons",
             userName,
             persons,
-            titleChoices,
-            genderChoices,
+            lookups.titleOptions(),
+            lookups.genderOptions(),
             filter,
             sortField,
             sortDir,
@@ -170,10 +190,125 @@ public class PersonResource {
             totalCount,
             pageWindow,
             hasNextPage
-        );
+        ))).build();
     }
 
 
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    /** First characters that make a spreadsheet treat a cell as a formula. */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    /**
+     * Export every person matching the list filter and ordering, as CSV (the import
+     * format) or JSON. Rows are streamed from a forward-only cursor, so memory stays flat
+     * regardless of size; the read-only transaction lives only while the body is written.
+     */
+    @GET
+    @Path("/export")
+    public Response export(
+            @QueryParam("filter") String filter,
+            @QueryParam("sortField") String sortField,
+            @QueryParam("sortDir") String sortDir,
+            @QueryParam("format") @DefaultValue("csv") String format) {
+
+        boolean json = "json".equalsIgnoreCase(format);
+        StreamingOutput body = output -> QuarkusTransaction.requiringNew()
+            .timeout(exportTimeoutSeconds)
+            .run(() -> {
+                try (StatelessSession session = sessionFactory.openStatelessSession();
+                     ScrollableResults<PersonRepository.ExportRow> rows = personRepository.scrollForExport(
+                         session, filter, sortField, sortDir, EXPORT_FETCH_SIZE)) {
+                    if (json) {
+                        writeJson(rows, output);
+                    } else {
+                        writeCsv(rows, output);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        return Response.ok(body)
+            .type(json ? MediaType.APPLICATION_JSON : "text/csv; charset=UTF-8")
+            .header("Content-Disposition", "attachment; filename=\"persons." + (json ? "json" : "csv") + "\"")
+            .build();
+    }
+
+    private static void writeCsv(ScrollableResults<PersonRepository.ExportRow> rows, OutputStream output)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("firstName,lastName,email,phone,dateOfBirth,title,gender,notes\r\n");
+        while (rows.next()) {
+            PersonRepository.ExportRow row = rows.get();
+            writer.write(csvField(row.firstName()));
+            writer.write(',');
+            writer.write(csvField(row.lastName()));
+            writer.write(',');
+            writer.write(csvField(row.email()));
+            writer.write(',');
+            writer.write(csvField(row.phone()));
+            writer.write(',');
+            writer.write(row.dateOfBirth() != null ? row.dateOfBirth().toString() : "");
+            writer.write(',');
+            writer.write(csvField(row.title()));
+            writer.write(',');
+            writer.write(csvField(row.gender()));
+            writer.write(',');
+            writer.write(csvField(row.notes()));
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    /**
+     * One CSV cell. Values a spreadsheet would evaluate as a formula (leading {@code =},
+     * {@code +}, {@code -}, {@code @}, tab or CR) are prefixed with {@code '}, which the
+     * import strips again.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static void writeJson(ScrollableResults<PersonRepository.ExportRow> rows, OutputStream output) {
+        JsonGenerator json = Json.createGenerator(new BufferedOutputStream(output));
+        json.writeStartArray();
+        while (rows.next()) {
+            PersonRepository.ExportRow row = rows.get();
+            json.writeStartObject()
+                .write("id", row.id())
+                .write("firstName", row.firstName())
+                .write("lastName", row.lastName())
+                .write("email", row.email());
+            writeNullable(json, "phone", row.phone());
+            writeNullable(json, "dateOfBirth", row.dateOfBirth() != null ? row.dateOfBirth().toString() : null);
+            writeNullable(json, "title", row.title());
+            writeNullable(json, "gender", row.gender());
+            writeNullable(json, "notes", row.notes());
+            json.writeEnd();
+        }
+        json.writeEnd();
+        // flush, not close: the container owns the response stream
+        json.flush();
+    }
+
+    private static void writeNullable(JsonGenerator json, String name, String value) {
+        if (value != null) {
+            json.write(name, value);
+        } else {
+            json.writeNull(name);
+        }
+    }
+
     @GET
     @Path("/{id}")
     @Produces(MediaType.TEXT_HTML)
@@ -189,9 +324,8 @@ public class PersonResource {
     @Path("/create")
     @Produces(MediaType.TEXT_HTML)
     public TemplateInstance createForm() {
-        List<Title> titleChoices = titleRepository.listAllOrdered();
-        List<Gender> genderChoices = genderRepository.listAllOrdered();
-        return Templates.person$modal_create(new Person(), titleChoices, genderChoices, null);
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        return Templates.person$modal_create(new Person(), lookups.titleOptions(), lookups.genderOptions(), null);
     }
 
     @GET
@@ -200,11 +334,10 @@ public class PersonResource {
     public TemplateInstance editForm(@PathParam("id") Long id) {
         Person person = personRepository.findById(id);
         if (person == null) {
-            return Templates.person$modal_edit(new Person(), List.of(), List.of(), "Person not found.");
+            return Templates.person$modal_edit(new Person(), SelectOptions.EMPTY, SelectOptions.EMPTY, "Person not found.");
         }
-        List<Title> titleChoices = titleRepository.listAllOrdered();
-        List<Gender> genderChoices = genderRepository.listAllOrdered();
-        return Templates.person$modal_edit(person, titleChoices, genderChoices, null);
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        return Templates.person$modal_edit(person, lookups.titleOptions(), lookups.genderOptions(), null);
     }
 
 
@@ -221,7 +354,12 @@ public class PersonResource {
             @FormParam("phone") String phone,
             @FormParam("dateOfBirth") String dateOfBirth,
             @FormParam("genderId") Long genderId,
-            @FormParam("notes") String notes) {
+            @FormParam("notes") String notes,
+            @FormParam("filter") String filter,
+            @FormParam("sortField") String sortField,
+            @FormParam("sortDir") String sortDir,
+            @FormParam("size") @DefaultValue("25") int size,
+            @FormParam("viewPage") @DefaultValue("0") int viewPage) {
 
         Person person = new Person();
         person.firstName = firstName;
@@ -239,18 +377,13 @@ public class PersonResource {
             }
         }
 
-        // Link title if provided
-        if (titleId != null) {
-            person.title = titleRepository.findById(titleId);
-        }
-
-        // Link gender if provided
-        if (genderId != null) {
-            person.gender = genderRepository.findById(genderId);
-        }
+        // Link title and gender from the cached lookups (no database round trip)
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        person.title = lookups.title(titleId);
+        person.gender = lookups.gender(genderId);
 
-        List<Title> titleChoices = titleRepository.listAllOrdered();
-        List<Gender> genderChoices = genderRepository.listAllOrdered();
+        SelectOptions titleChoices = lookups.titleOptions();
+        SelectOptions genderChoices = lookups.genderOptions();
 
         // Validation
         if (firstName == null || firstName.isBlank()) {
@@ -269,28 +402,28 @@ public class PersonResource {
             return Templates.person$modal_create(person, titleChoices, genderChoices, "Invalid email format.");
         }
 
-        // Check email uniqueness (case-insensitive)
-        if (personRepository.existsByEmail(email)) {
-            return Templates.person$modal_create(person, titleChoices, genderChoices, "Email already registered.");
-        }
-
         // Set audit fields
         String userName = securityIdentity.isAnonymous() ? "system" : securityIdentity.getPrincipal().getName();
         person.createdBy = userName;
         person.updatedBy = userName;
 
-        // Persist
-        personRepository.persist(person);
-
-        // Return success with OOB table refresh (reset to page 0, size 25)
-        PanacheQuery<Person> refreshQuery = personRepository.findByFilterPaged(null, null, null);
-        refreshQuery.page(Page.of(0, 25));
-        List<Person> persons = refreshQuery.list();
-        int totalPages = refreshQuery.pageCount();
-        long totalCount = refreshQuery.count();
-        List<Integer> pageWindow = computePageWindow(0, totalPages);
-        boolean hasNextPage = totalPages > 1;
-        return Templates.person$modal_success("Person created successfully.", persons, null, 0, 25, totalPages, totalCount, pageWindow, hasNextPage);
+        // Persist; the case-insensitive unique index rejects duplicate emails
+        try {
+            personRepository.persistUnique(person);
+        } catch (UniqueConstraintException e) {
+            return Templates.person$modal_create(person, titleChoices, genderChoices, e.getMessage());
+        }
+
+        // Clamp size to allowed values
+        if (size != 10 && size != 25 && size != 50 && size != 100) {
+            size = 25;
+        }
+
+        // Insert the new row out of band only when it goes at the top of the page being
+        // shown; anywhere else the success fragment reloads that page
+        boolean inView = viewPage == 0 && personRepository.isFirstInView(person, filter, sortField, sortDir);
+        return Templates.person$modal_success("Person created successfully.", person, inView,
+            listUrl(filter, sortField, sortDir, viewPage, size), size);
     }
 
     @PUT
@@ -310,11 +443,12 @@ public class PersonResource {
 
         Person person = personRepository.findById(id);
         if (person == null) {
-            return Templates.person$modal_edit(new Person(), List.of(), List.of(), "Person not found.");
+            return Templates.person$modal_edit(new Person(), SelectOptions.EMPTY, SelectOptions.EMPTY, "Person not found.");
         }
 
-        List<Title> titleChoices = titleRepository.listAllOrdered();
-        List<Gender> genderChoices = genderRepository.listAllOrdered();
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        SelectOptions titleChoices = lookups.titleOptions();
+        SelectOptions genderChoices = lookups.genderOptions();
 
         // Create a detached copy for form display on validation errors
         Person formPerson = new Person();
@@ -338,15 +472,9 @@ public class PersonResource {
             }
         }
 
-        // Link title for form display
-        if (titleId != null) {
-            formPerson.title = titleRepository.findById(titleId);
-        }
-
-        // Link gender for form display
-        if (genderId != null) {
-            formPerson.gender = genderRepository.findById(genderId);
-        }
+        // Link title and gender for form display
+        formPerson.title = lookups.title(titleId);
+        formPerson.gender = lookups.gender(genderId);
 
         // Validation BEFORE modifying the managed entity
         if (firstName == null || firstName.isBlank()) {
@@ -365,11 +493,6 @@ public class PersonResource {
             return Templates.person$modal_edit(formPerson, titleChoices, genderChoices, "Invalid email format.");
         }
 
-        // Check email uniqueness (case-insensitive, excluding current record)
-        if (personRepository.existsByEmailAndIdNot(email, id)) {
-            return Templates.person$modal_edit(formPerson, titleChoices, genderChoices, "Email already registered.");
-        }
-
         // All validations passed - now update the managed entity
         person.firstName = firstName;
         person.lastName = lastName;
@@ -385,6 +508,13 @@ public class PersonResource {
         person.updatedBy = userName;
         // Note: updatedAt is set automatically by @PreUpdate callback
 
+        // Flush now so a duplicate email (unique index) is reported in the form
+        try {
+            personRepository.flushUnique(person);
+        } catch (UniqueConstraintException e) {
+            return Templates.person$modal_edit(formPerson, titleChoices, genderChoices, e.getMessage());
+        }
+
         // Return success with OOB row update
         return Templates.person$modal_success_row("Person updated successfully.", person);
     }
@@ -394,7 +524,7 @@ public class PersonResource {
      * Compute visible page numbers for pagination with ellipsis.
      * Returns list of page indices (0-indexed). -1 indicates ellipsis placeholder.
      */
-    private List<Integer> computePageWindow(int currentPage, int totalPages) {
+    static List<Integer> computePageWindow(int currentPage, int totalPages) {
         List<Integer> pages = new ArrayList<>();
         if (totalPages <= 7) {
             for (int i = 0; i < totalPages; i++) pages.add(i);
@@ -413,6 +543,21 @@ public class PersonResource {
         return pages;
     }
 
+    /** The list URL for a view of the table, as the filter form and pagination links build it. */
+    static String listUrl(String filter, String sortField, String sortDir, int page, int size) {
+        StringBuilder url = new StringBuilder("/persons?page=").append(page).append("&size=").append(size);
+        appendParam(url, "filter", filter);
+        appendParam(url, "sortField", sortField);
+        appendParam(url, "sortDir", sortDir);
+        return url.toString();
+    }
+
+    private static void appendParam(StringBuilder url, String name, String value) {
+        if (value != null && !value.isBlank()) {
+            url.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
     /**
      * Display delete confirmation modal.
      */
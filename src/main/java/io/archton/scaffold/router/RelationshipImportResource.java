@@ -0,0 +1,56 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.service.RelationshipImportService;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.json.JsonException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk edge ingest: POST a CSV ({@code text/csv}) or JSON array ({@code application/json})
+ * of {@code sourceEmail, relatedEmail, relationshipCode} and get back a summary of what
+ * was inserted, skipped as duplicate, or rejected.
+ */
+@Path("/persons/relationships/import")
+@RolesAllowed({"user", "admin"})
+@RunOnVirtualThread
+public class RelationshipImportResource {
+
+    @Inject
+    SecurityIdentity securityIdentity;
+
+    @Inject
+    RelationshipImportService relationshipImportService;
+
+    @POST
+    @Consumes({"text/csv", MediaType.APPLICATION_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public RelationshipImportService.ImportResult importEdges(
+            @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        RelationshipImportService.Format format = contentType != null
+                && contentType.toLowerCase().startsWith(MediaType.APPLICATION_JSON)
+            ? RelationshipImportService.Format.JSON
+            : RelationshipImportService.Format.CSV;
+        String userName = securityIdentity.getPrincipal().getName();
+
+        try {
+            return relationshipImportService.importEdges(body, format, userName);
+        } catch (IOException | JsonException | IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
+    }
+}
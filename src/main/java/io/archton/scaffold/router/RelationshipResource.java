@@ -2,9 +2,11 @@ package io.archton.scaffold.router;
 
 import io.archton.scaffold.entity.Relationship;
 import io.archton.scaffold.repository.RelationshipRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -23,6 +25,7 @@ import java.util.List;
 
 @Path("/relationships")
 @RolesAllowed("admin")
+@RunOnVirtualThread
 public class RelationshipResource {
 
     @Inject
@@ -31,6 +34,9 @@ public class RelationshipResource {
     @Inject
     RelationshipRepository relationshipRepository;
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
     @CheckedTemplate
     public static class Templates {
         // Full page
@@ -139,6 +145,7 @@ public class RelationshipResource {
 
         // Persist
         relationshipRepository.persist(relationship);
+        referenceDataCache.invalidate();
 
         // Return success with OOB table refresh
         List<Relationship> relationships = relationshipRepository.listAllOrdered();
@@ -201,6 +208,7 @@ public class RelationshipResource {
         relationship.updatedBy = userName;
 
         // Persist changes (entity is already managed, changes will be flushed)
+        referenceDataCache.invalidate();
 
         // Return success with OOB single row update
         return Templates.relationship$modal_success_row("Relationship updated successfully.", relationship);
@@ -241,6 +249,7 @@ public class RelationshipResource {
         }
 
         relationshipRepository.delete(relationship);
+        referenceDataCache.invalidate();
 
         // Return success with OOB row removal
         return Templates.relationship$modal_delete_success(id);
@@ -0,0 +1,34 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.http.ServerTiming;
+import io.archton.scaffold.metrics.QueryMonitor;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * For requests that reached a resource in this package: names the resource method for
+ * the slow-query and repeated-load logs ({@link QueryMonitor}), and for sampled requests
+ * ends the {@code auth} span so the response gets a {@code Server-Timing} header.
+ */
+@Provider
+public class RequestMetricsFilter implements ContainerRequestFilter {
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Class<?> resource = resourceInfo.getResourceClass();
+        if (resource == null || resource.getPackage() != RequestMetricsFilter.class.getPackage()) {
+            return;
+        }
+        ServerTiming.Request timing = ServerTiming.current();
+        if (timing != null) {
+            timing.handlerStarted();
+        }
+        QueryMonitor.enter(resource.getSimpleName() + "." + resourceInfo.getResourceMethod().getName());
+    }
+}
@@ -0,0 +1,79 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.qute.TemplateInstance;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes a template to the response as it is emitted, instead of rendering the whole
+ * page into a String first.
+ * <p>
+ * Qute resolves all expressions before it emits the first chunk, so streaming does not
+ * start before the data is resolved; what it removes is building the page in a growing
+ * StringBuilder, copying it into a String and then encoding that String in one piece.
+ * The response stream is sent chunked as its buffer fills, so the first bytes leave
+ * while the rest of the page is still being written. Rendering happens on the calling
+ * worker thread within the request, so lazy associations resolve exactly as they do for
+ * a returned {@link TemplateInstance}.
+ */
+final class StreamingTemplate implements StreamingOutput {
+
+    /** Qute emits many tiny chunks; they are copied into one buffer and written 8K at a time. */
+    private static final int BUFFER_SIZE = 8192;
+
+    private final TemplateInstance instance;
+
+    private StreamingTemplate(TemplateInstance instance) {
+        this.instance = instance;
+    }
+
+    static StreamingTemplate of(TemplateInstance instance) {
+        return new StreamingTemplate(instance);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        char[] buffer = new char[BUFFER_SIZE];
+        int[] length = {0};
+        try {
+            instance.consume(chunk -> {
+                try {
+                    int size = chunk.length();
+                    if (length[0] + size > BUFFER_SIZE) {
+                        writer.write(buffer, 0, length[0]);
+                        length[0] = 0;
+                    }
+                    if (size > BUFFER_SIZE) {
+                        writer.write(chunk);
+                    } else {
+                        chunk.getChars(0, size, buffer, length[0]);
+                        length[0] += size;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write(buffer, 0, length[0]);
+        writer.flush();
+    }
+}
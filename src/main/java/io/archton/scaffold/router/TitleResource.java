@@ -2,9 +2,11 @@ package io.archton.scaffold.router;
 
 import io.archton.scaffold.entity.Title;
 import io.archton.scaffold.repository.TitleRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
 import io.quarkus.qute.CheckedTemplate;
 import io.quarkus.qute.TemplateInstance;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -23,6 +25,7 @@ import java.util.List;
 
 @Path("/titles")
 @RolesAllowed("admin")
+@RunOnVirtualThread
 public class TitleResource {
 
     @Inject
@@ -31,6 +34,9 @@ public class TitleResource {
     @Inject
     TitleRepository titleRepository;
 
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
     @CheckedTemplate
     public static class Templates {
         // Full page
@@ -139,6 +145,7 @@ public class TitleResource {
 
         // Persist
         titleRepository.persist(title);
+        referenceDataCache.invalidate();
 
         // Return success with OOB table refresh
         List<Title> titles = titleRepository.listAllOrdered();
@@ -199,6 +206,7 @@ public class TitleResource {
         title.updatedBy = userName;
 
         // Persist changes (entity is already managed, changes will be flushed)
+        referenceDataCache.invalidate();
 
         // Return success with OOB single row update
         return Templates.title$modal_success_row("Title updated successfully.", title);
@@ -238,6 +246,7 @@ public class TitleResource {
         }
 
         titleRepository.delete(title);
+        referenceDataCache.invalidate();
 
         // Return success with OOB row removal
         return Templates.title$modal_delete_success(id);
@@ -10,27 +10,44 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+/**
+ * Rejects authenticated identities whose account has been deactivated. The flag comes
+ * from {@link ActiveUserCache}; only a miss costs a blocking-pool hop and a query.
+ */
 @ApplicationScoped
 public class ActiveUserAugmentor implements SecurityIdentityAugmentor {
 
     @Inject
     UserLoginRepository userLoginRepository;
 
+    @Inject
+    ActiveUserCache activeUserCache;
+
     @Override
     public Uni<SecurityIdentity> augment(SecurityIdentity identity, AuthenticationRequestContext context) {
         if (identity.isAnonymous()) {
             return Uni.createFrom().item(identity);
         }
+        String email = identity.getPrincipal().getName();
+        Boolean cached = activeUserCache.get(email);
+        if (cached != null) {
+            return cached ? Uni.createFrom().item(identity) : Uni.createFrom().failure(inactive());
+        }
         return context.runBlocking(() -> {
-            String email = identity.getPrincipal().getName();
+            long version = activeUserCache.version();
             boolean active = QuarkusTransaction.requiringNew().call(() ->
                 userLoginRepository.findByEmail(email)
                     .map(u -> u.active)
                     .orElse(false));
+            activeUserCache.put(email, active, version);
             if (!active) {
-                throw new AuthenticationFailedException("Account is inactive");
+                throw inactive();
             }
             return identity;
         });
     }
+
+    private static AuthenticationFailedException inactive() {
+        return new AuthenticationFailedException("Account is inactive");
+    }
 }
@@ -0,0 +1,185 @@
+package io.archton.scaffold.service;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of {@code user_login.active} by email, so authenticated requests do
+ * not need a database round trip to confirm the account is still enabled.
+ * <p>
+ * Entries expire after {@code app.security.active-cache.ttl}. Changes are evicted sooner:
+ * {@link #invalidate(String)} on this node once the writing transaction commits, and on
+ * every node through the {@value #CHANNEL} notification sent by the {@code user_login}
+ * trigger (V1.9.0), which also covers changes made directly in the database. After the
+ * listener (re)connects, notifications may have been missed, so the whole cache is dropped.
+ */
+@ApplicationScoped
+public class ActiveUserCache {
+
+    private static final Logger LOG = Logger.getLogger(ActiveUserCache.class);
+
+    /** Postgres channel the {@code user_login} trigger notifies with the changed email. */
+    static final String CHANNEL = "user_login_changed";
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "app.security.active-cache.ttl", defaultValue = "PT30S")
+    Duration ttl;
+
+    @ConfigProperty(name = "app.security.active-cache.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "quarkus.datasource.reactive.url")
+    Optional<String> reactiveUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    private record Entry(boolean active, long expiresAt) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private PgSubscriber subscriber;
+
+    /**
+     * The cached flag, or null if unknown or expired.
+     */
+    public Boolean get(String email) {
+        Entry entry = entries.get(key(email));
+        if (entry == null || entry.expiresAt() - System.nanoTime() < 0) {
+            return null;
+        }
+        return entry.active();
+    }
+
+    /**
+     * Current invalidation version. Read it before loading a flag and pass it to
+     * {@link #put(String, boolean, long)}.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Cache a flag loaded from the database, unless an invalidation happened since
+     * {@code loadVersion} was read (the loaded value may then already be stale).
+     */
+    public void put(String email, boolean active, long loadVersion) {
+        String key = key(email);
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom(now);
+        }
+        entries.put(key, new Entry(active, now + ttl.toNanos()));
+        if (version.get() != loadVersion) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Drop expired entries; if the cache is still full, drop the one closest to expiry
+     * (the oldest load, as every entry gets the same TTL). Only reached when full, so the
+     * scan does not touch the request path, and the other users keep their entries.
+     */
+    private void makeRoom(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() - now < 0);
+        if (entries.size() >= maxEntries) {
+            entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().expiresAt()))
+                .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    /** Number of cached flags, expired or not. */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Forget the flag for one user. Inside a transaction the eviction is deferred until
+     * commit, like {@link ReferenceDataCache#invalidate()}.
+     */
+    public void invalidate(String email) {
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        evict(email);
+                    }
+                }
+            });
+        } else {
+            evict(email);
+        }
+    }
+
+    void evict(String email) {
+        version.incrementAndGet();
+        entries.remove(key(email));
+    }
+
+    void evictAll() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    void listen(@Observes StartupEvent event) {
+        if (reactiveUrl.isEmpty()) {
+            LOG.warn("No reactive datasource URL; active-user cache entries only expire by TTL");
+            return;
+        }
+        PgConnectOptions options = PgConnectOptions.fromUri(reactiveUrl.get().replaceFirst("^vertx-reactive:", ""));
+        username.ifPresent(options::setUser);
+        password.ifPresent(options::setPassword);
+
+        subscriber = PgSubscriber.subscriber(vertx, options)
+            .reconnectPolicy(attempt -> Math.min(30_000L, 500L * (attempt + 1)));
+        subscriber.channel(CHANNEL)
+            .subscribeHandler(this::evictAll)
+            .handler(this::evict);
+        subscriber.connect().subscribe().with(
+            v -> LOG.debugf("Listening on %s", CHANNEL),
+            e -> LOG.warnf(e, "Could not LISTEN on %s; relying on TTL until reconnected", CHANNEL));
+    }
+
+    void close(@Observes ShutdownEvent event) {
+        if (subscriber != null) {
+            subscriber.closeAndAwait();
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package io.archton.scaffold.service;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.qute.TemplateExtension;
+
+/**
+ * Qute access to {@link StaticAssets}: {@code <link href="{asset:url('/style.css')}">}, and
+ * {@code <script src="{asset:lib('htmx.org', '/dist/htmx.min.js')}">} for mvnpm libraries.
+ */
+@TemplateExtension(namespace = "asset")
+public class AssetTemplateExtensions {
+
+    static String url(String path) {
+        return Arc.container().instance(StaticAssets.class).get().url(path);
+    }
+
+    static String lib(String library, String file) {
+        return Arc.container().instance(StaticAssets.class).get().libraryUrl(library, file);
+    }
+}
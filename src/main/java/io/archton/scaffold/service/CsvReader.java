@@ -0,0 +1,126 @@
+package io.archton.scaffold.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 CSV reader used by the bulk imports.
+ * <p>
+ * Reads one record at a time, so an upload is never held in memory. Supports quoted
+ * fields containing commas, doubled quotes and line breaks, and both LF and CRLF
+ * record separators. Blank lines are skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader reader;
+    private int pushback = -2;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the record's fields, or null at end of input
+     * @throws IOException if the input cannot be read or a quoted field is not terminated
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (!any) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    quoted = true;
+                    any = true;
+                }
+                case ',' -> {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                }
+                case '\r', '\n' -> {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            unread(next);
+                        }
+                    }
+                    line++;
+                    if (any) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    // Blank line: keep reading
+                    recordLine = line;
+                }
+                default -> {
+                    field.append((char) c);
+                    any = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Line number on which the last record returned by {@link #readRecord()} started.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
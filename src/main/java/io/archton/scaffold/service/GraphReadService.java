@@ -0,0 +1,238 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.entity.Title;
+import io.archton.scaffold.http.ServerTiming;
+import io.archton.scaffold.metrics.NetworkMetrics;
+import io.archton.scaffold.replica.ReplicaRouting;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Non-blocking reads for the graph and network views, on the reactive PostgreSQL client.
+ * <p>
+ * These endpoints only read, and their cost is almost entirely database round trips, so
+ * they run on the event loop instead of occupying a worker (or virtual) thread that the
+ * CRUD pages need. Writes stay on Hibernate ORM; both clients use the same datasource.
+ * Independent queries are issued together so the client pipelines them on one connection
+ * or spreads them over the pool, rather than waiting for each result in turn.
+ * <p>
+ * The network result uses detached {@link Person}/{@link Relationship} instances carrying
+ * only what the templates read (id, names, title, relationship code and description), so
+ * the same templates render either implementation.
+ * <p>
+ * Requests routed to the read replica (see {@link ReplicaRouting}) query the replica's
+ * reactive pool, subject to the same read-your-writes check as the ORM path.
+ */
+@ApplicationScoped
+public class GraphReadService {
+
+    /** One person as a graph node. */
+    public record NodeRow(Long id, String firstName, String lastName, String email, String genderCode) {}
+
+    /** One stored relationship as a graph edge. */
+    public record EdgeRow(Long sourceId, Long targetId, Long relationshipId, String code, String description) {}
+
+    private static final String NODES_SQL =
+        "SELECT p.id, p.first_name, p.last_name, p.email, g.code "
+            + "FROM person p LEFT JOIN gender g ON g.id = p.gender_id";
+
+    private static final String EDGES_SQL =
+        "SELECT pr.source_person_id, pr.related_person_id, r.id, r.code, r.description "
+            + "FROM person_relationship pr JOIN relationship r ON r.id = pr.relationship_id";
+
+    private static final String PERSON_SQL =
+        "SELECT p.id, p.first_name, p.last_name, t.description "
+            + "FROM person p LEFT JOIN title t ON t.id = p.title_id WHERE p.id = $1";
+
+    private static final String CONNECTIONS_SQL =
+        "SELECT sp.id, sp.first_name, sp.last_name, st.description, "
+            + "rp.id, rp.first_name, rp.last_name, rt.description, "
+            + "r.id, r.code, r.description "
+            + "FROM person_relationship pr "
+            + "JOIN person sp ON sp.id = pr.source_person_id "
+            + "LEFT JOIN title st ON st.id = sp.title_id "
+            + "JOIN person rp ON rp.id = pr.related_person_id "
+            + "LEFT JOIN title rt ON rt.id = rp.title_id "
+            + "JOIN relationship r ON r.id = pr.relationship_id "
+            + "WHERE pr.source_person_id = ANY ($1) OR pr.related_person_id = ANY ($1) "
+            + "ORDER BY pr.id";
+
+    private static final String REPLAYED_SQL = "SELECT pg_last_wal_replay_lsn() >= $1::pg_lsn";
+
+    @Inject
+    Pool primary;
+
+    @Inject
+    @ReactiveDataSource(ReplicaRouting.REPLICA)
+    Instance<Pool> replica;
+
+    @Inject
+    ReplicaRouting routing;
+
+    @Inject
+    NetworkMetrics networkMetrics;
+
+    /**
+     * The pool for this request. Routing state is read here, on the request's thread,
+     * not in the callbacks.
+     */
+    private Uni<Pool> client() {
+        if (!routing.requested()) {
+            return Uni.createFrom().item(primary);
+        }
+        Pool replicaPool = replica.get();
+        String lsn = routing.pendingLsn();
+        if (lsn == null) {
+            return Uni.createFrom().item(routing.useReplica() ? replicaPool : primary);
+        }
+        return timed(replicaPool.preparedQuery(REPLAYED_SQL).execute(Tuple.of(lsn)))
+            .map(rows -> Boolean.TRUE.equals(rows.iterator().next().getBoolean(0)) ? replicaPool : primary)
+            .onFailure().recoverWithItem(primary);
+    }
+
+    /** Adds a reactive query's time to the request's Server-Timing (captured on the request's thread). */
+    private static <T> Uni<T> timed(Uni<T> query) {
+        ServerTiming.Request timing = ServerTiming.current();
+        if (timing == null) {
+            return query;
+        }
+        return Uni.createFrom().deferred(() -> {
+            long start = System.nanoTime();
+            return query.onTermination().invoke(() -> timing.statement(System.nanoTime() - start));
+        });
+    }
+
+    public Uni<List<NodeRow>> nodes() {
+        return client().chain(client -> timed(client.query(NODES_SQL).execute())).map(rows -> {
+            List<NodeRow> nodes = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                nodes.add(new NodeRow(row.getLong(0), row.getString(1), row.getString(2),
+                    row.getString(3), row.getString(4)));
+            }
+            return nodes;
+        });
+    }
+
+    public Uni<List<EdgeRow>> edges() {
+        return client().chain(client -> timed(client.query(EDGES_SQL).execute())).map(rows -> {
+            List<EdgeRow> edges = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                edges.add(new EdgeRow(row.getLong(0), row.getLong(1), row.getLong(2),
+                    row.getString(3), row.getString(4)));
+            }
+            return edges;
+        });
+    }
+
+    /**
+     * Reactive counterpart of {@link NetworkService#buildNetwork(Long, int)}, with the same
+     * BFS ({@link NetworkService#expand}). The focal person and the first depth are queried
+     * together; each further depth needs the previous frontier and follows as one query.
+     *
+     * @return the network result, or a null item if the person does not exist
+     */
+    public Uni<NetworkService.NetworkResult> buildNetwork(Long focalPersonId, int maxDepth) {
+        int depthLimit = Math.max(1, Math.min(maxDepth, 3));
+        Map<Long, Person> people = new HashMap<>();
+        Map<Long, Relationship> relationships = new HashMap<>();
+
+        long start = System.nanoTime();
+        return client().chain(client -> {
+            Uni<Person> focal = timed(client.preparedQuery(PERSON_SQL).execute(Tuple.of(focalPersonId)))
+                .map(rows -> rows.size() == 0 ? null : person(rows.iterator().next(), 0, new HashMap<>()));
+            Uni<List<PersonRelationship>> firstDepth = connections(client, Set.of(focalPersonId), people, relationships);
+
+            return Uni.combine().all().unis(focal, firstDepth).asTuple().chain(both -> {
+                Person focalPerson = both.getItem1();
+                if (focalPerson == null) {
+                    return Uni.createFrom().nullItem();
+                }
+                Set<Long> visited = new HashSet<>();
+                visited.add(focalPersonId);
+                Map<Integer, List<NetworkService.NetworkConnection>> connectionsByDepth = new HashMap<>();
+                return traverse(client, both.getItem2(), 1, start, depthLimit, visited, connectionsByDepth,
+                        people, relationships)
+                    .map(total -> {
+                        networkMetrics.build(start);
+                        return new NetworkService.NetworkResult(focalPerson, connectionsByDepth, depthLimit, total);
+                    });
+            });
+        });
+    }
+
+    /** Expand one depth from its relationships, then fetch and expand the next if needed. */
+    private Uni<Integer> traverse(Pool client, List<PersonRelationship> found, int depth, long depthStart, int maxDepth,
+                                  Set<Long> visited,
+                                  Map<Integer, List<NetworkService.NetworkConnection>> connectionsByDepth,
+                                  Map<Long, Person> people, Map<Long, Relationship> relationships) {
+        List<NetworkService.NetworkConnection> depthConnections = new ArrayList<>();
+        Set<Long> frontier = NetworkService.expand(found, visited, depth, depthConnections);
+        connectionsByDepth.put(depth, depthConnections);
+        int count = depthConnections.size();
+        networkMetrics.depth(depth, count, depthStart);
+
+        if (depth == maxDepth || frontier.isEmpty()) {
+            return Uni.createFrom().item(count);
+        }
+        long nextStart = System.nanoTime();
+        return connections(client, frontier, people, relationships)
+            .chain(next -> traverse(client, next, depth + 1, nextStart, maxDepth, visited, connectionsByDepth,
+                people, relationships))
+            .map(rest -> count + rest);
+    }
+
+    private Uni<List<PersonRelationship>> connections(Pool client, Set<Long> personIds, Map<Long, Person> people,
+                                                      Map<Long, Relationship> relationships) {
+        return timed(client.preparedQuery(CONNECTIONS_SQL).execute(Tuple.of(personIds.toArray(new Long[0]))))
+            .map(rows -> toRelationships(rows, people, relationships));
+    }
+
+    private static List<PersonRelationship> toRelationships(RowSet<Row> rows, Map<Long, Person> people,
+                                                            Map<Long, Relationship> relationships) {
+        List<PersonRelationship> result = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            PersonRelationship pr = new PersonRelationship();
+            pr.sourcePerson = person(row, 0, people);
+            pr.relatedPerson = person(row, 4, people);
+            pr.relationship = relationships.computeIfAbsent(row.getLong(8), id -> {
+                Relationship r = new Relationship(row.getString(9), row.getString(10));
+                r.id = id;
+                return r;
+            });
+            result.add(pr);
+        }
+        return result;
+    }
+
+    /** A detached person from the four columns id, first name, last name, title description. */
+    private static Person person(Row row, int offset, Map<Long, Person> people) {
+        return people.computeIfAbsent(row.getLong(offset), id -> {
+            Person p = new Person();
+            p.id = id;
+            p.firstName = row.getString(offset + 1);
+            p.lastName = row.getString(offset + 2);
+            String title = row.getString(offset + 3);
+            if (title != null) {
+                p.title = new Title(null, title);
+            }
+            return p;
+        });
+    }
+}
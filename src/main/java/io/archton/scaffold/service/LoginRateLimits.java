@@ -0,0 +1,74 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.service.exception.RateLimitedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Attempt budgets for login and signup, per client IP and per target email.
+ * <p>
+ * The IP check runs in a router filter before the form body is read; the email check runs
+ * before the account lookup and before any BCrypt work. Either way a rejected attempt
+ * costs a map lookup, not a hash or a query. The IP budget stops one client spraying many
+ * accounts; the email budget stops many clients (or rotating IPs) guessing one password.
+ */
+@ApplicationScoped
+public class LoginRateLimits {
+
+    @ConfigProperty(name = "app.security.rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "app.security.rate-limit.ip.capacity", defaultValue = "30")
+    int ipCapacity;
+
+    @ConfigProperty(name = "app.security.rate-limit.ip.refill", defaultValue = "PT2S")
+    Duration ipRefill;
+
+    @ConfigProperty(name = "app.security.rate-limit.email.capacity", defaultValue = "10")
+    int emailCapacity;
+
+    @ConfigProperty(name = "app.security.rate-limit.email.refill", defaultValue = "PT30S")
+    Duration emailRefill;
+
+    @ConfigProperty(name = "app.security.rate-limit.max-keys", defaultValue = "100000")
+    int maxKeys;
+
+    private RateLimiter byIp;
+    private RateLimiter byEmail;
+
+    @PostConstruct
+    void init() {
+        byIp = new RateLimiter(ipCapacity, ipRefill, maxKeys);
+        byEmail = new RateLimiter(emailCapacity, emailRefill, maxKeys);
+    }
+
+    /**
+     * @throws RateLimitedException if this client has no attempts left
+     */
+    public void checkIp(String ip) {
+        check(byIp, ip);
+    }
+
+    /**
+     * @throws RateLimitedException if this account has no attempts left
+     */
+    public void checkEmail(String email) {
+        if (email != null) {
+            check(byEmail, email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void check(RateLimiter limiter, String key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = limiter.acquire(key);
+        if (waitNanos > 0) {
+            throw new RateLimitedException("Too many attempts", Duration.ofNanos(waitNanos));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.archton.scaffold.service;
 import io.archton.scaffold.entity.Person;
 import io.archton.scaffold.entity.PersonRelationship;
 import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.metrics.NetworkMetrics;
 import io.archton.scaffold.repository.PersonRepository;
 import io.archton.scaffold.repository.PersonRelationshipRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -24,6 +25,9 @@ public class NetworkService {
     @Inject
     PersonRelationshipRepository personRelationshipRepository;
 
+    @Inject
+    NetworkMetrics networkMetrics;
+
     /**
      * A single discovered connection at a specific depth in the network.
      */
@@ -36,6 +40,12 @@ public class NetworkService {
 
     /**
      * Build a person's network using BFS traversal up to the given depth.
+     * <p>
+     * The network page is served by {@link GraphReadService#buildNetwork(Long, int)} on the
+     * reactive client; nothing in production calls this method. It stays as the blocking
+     * ORM reference that GraphResourceTest compares the reactive traversal against, and as
+     * the fallback to switch {@code GraphResource} back to should the reactive client have
+     * to be disabled. Both share {@link #expand}, so their results stay identical.
      *
      * @param focalPersonId the starting person
      * @param maxDepth maximum degrees of separation (clamped to 1-3)
@@ -43,6 +53,7 @@ public class NetworkService {
      */
     public NetworkResult buildNetwork(Long focalPersonId, int maxDepth) {
         maxDepth = Math.max(1, Math.min(maxDepth, 3));
+        long start = System.nanoTime();
 
         Person focalPerson = personRepository.findById(focalPersonId);
         if (focalPerson == null) {
@@ -59,36 +70,15 @@ public class NetworkService {
         int totalConnections = 0;
 
         for (int depth = 1; depth <= maxDepth; depth++) {
+            long depthStart = System.nanoTime();
             List<PersonRelationship> relationships = personRelationshipRepository.findConnectionsForPersonIds(currentFrontier);
 
             List<NetworkConnection> depthConnections = new ArrayList<>();
-            Set<Long> nextFrontier = new HashSet<>();
-
-            for (PersonRelationship pr : relationships) {
-                // Determine the "other" person -- the one NOT in visited
-                Person newPerson = null;
-                Person throughPerson = null;
-
-                if (!visited.contains(pr.relatedPerson.id)) {
-                    newPerson = pr.relatedPerson;
-                    throughPerson = pr.sourcePerson;
-                } else if (!visited.contains(pr.sourcePerson.id)) {
-                    newPerson = pr.sourcePerson;
-                    throughPerson = pr.relatedPerson;
-                }
-
-                if (newPerson != null) {
-                    // Only add if we haven't already discovered this person at this depth
-                    if (!visited.contains(newPerson.id)) {
-                        visited.add(newPerson.id);
-                        nextFrontier.add(newPerson.id);
-                        depthConnections.add(new NetworkConnection(newPerson, pr.relationship, throughPerson, depth));
-                    }
-                }
-            }
+            Set<Long> nextFrontier = expand(relationships, visited, depth, depthConnections);
 
             connectionsByDepth.put(depth, depthConnections);
             totalConnections += depthConnections.size();
+            networkMetrics.depth(depth, depthConnections.size(), depthStart);
 
             currentFrontier = nextFrontier;
             if (currentFrontier.isEmpty()) {
@@ -96,6 +86,41 @@ public class NetworkService {
             }
         }
 
+        networkMetrics.build(start);
         return new NetworkResult(focalPerson, connectionsByDepth, maxDepth, totalConnections);
     }
+
+    /**
+     * One BFS step: for each relationship touching the frontier, record the endpoint not yet
+     * visited as a connection at {@code depth}. Marks discovered people as visited and
+     * returns them as the next frontier.
+     */
+    public static Set<Long> expand(List<PersonRelationship> relationships, Set<Long> visited, int depth,
+                                   List<NetworkConnection> depthConnections) {
+        Set<Long> nextFrontier = new HashSet<>();
+        for (PersonRelationship pr : relationships) {
+            // Determine the "other" person -- the one NOT in visited
+            Person newPerson = null;
+            Person throughPerson = null;
+
+            if (!visited.contains(pr.relatedPerson.id)) {
+                newPerson = pr.relatedPerson;
+                throughPerson = pr.sourcePerson;
+            } else if (!visited.contains(pr.sourcePerson.id)) {
+                newPerson = pr.sourcePerson;
+                throughPerson = pr.relatedPerson;
+            }
+
+            if (newPerson != null) {
+                // Only add if we haven't already discovered this person at this depth
+                if (!visited.contains(newPerson.id)) {
+                    visited.add(newPerson.id);
+                    nextFrontier.add(newPerson.id);
+                    depthConnections.add(new NetworkConnection(newPerson, pr.relationship, throughPerson, depth));
+                }
+            }
+        }
+
+        return nextFrontier;
+    }
 }
@@ -0,0 +1,150 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded thread pool.
+ * <p>
+ * One hash at cost 12 is roughly a quarter second of CPU. Running it on request threads
+ * lets a burst of signups or a credential-stuffing run occupy every worker, so all
+ * hashing goes through {@code app.security.hashing.threads} threads and a queue of
+ * {@code app.security.hashing.queue-size}. When both are full the work is refused at
+ * once with {@link ServiceOverloadedException} (503, Retry-After) rather than queued
+ * behind everything else.
+ */
+@ApplicationScoped
+public class PasswordHasher {
+
+    @ConfigProperty(name = "app.security.bcrypt.cost", defaultValue = "12")
+    int cost;
+
+    @ConfigProperty(name = "app.security.hashing.threads")
+    Optional<Integer> threads;
+
+    @ConfigProperty(name = "app.security.hashing.queue-size", defaultValue = "32")
+    int queueSize;
+
+    @ConfigProperty(name = "app.security.hashing.retry-after", defaultValue = "PT2S")
+    Duration retryAfter;
+
+    /**
+     * Counters for monitoring the pool, exported as {@code password.hashing.*} meters by
+     * {@link io.archton.scaffold.metrics.PasswordHasherMetrics} and reported by the
+     * readiness check.
+     */
+    public record Stats(int threads, int active, int queued, long completed, long rejected) {}
+
+    private final AtomicLong rejected = new AtomicLong();
+    private ThreadPoolExecutor executor;
+    /** Verified against for unknown users, so the time taken does not reveal them. */
+    private String dummyHash;
+
+    @PostConstruct
+    void start() {
+        int size = threads.orElse(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        AtomicInteger index = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        dummyHash = encode(UUID.randomUUID().toString());
+    }
+
+    void stop(@Observes ShutdownEvent event) {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a task on the hashing pool.
+     *
+     * @throws ServiceOverloadedException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceOverloadedException("Password hashing is at capacity.", retryAfter);
+        }
+    }
+
+    /**
+     * Hash a new password at the configured cost, waiting for a pool thread.
+     *
+     * @throws ServiceOverloadedException if the pool and its queue are full
+     */
+    public String hash(String plainPassword) {
+        return await(submit(() -> encode(plainPassword)));
+    }
+
+    /**
+     * Compare a password with a stored hash. Call from a task already on the pool
+     * (see {@link #submit(Supplier)}); a null hash is compared with a dummy so the
+     * time taken does not reveal whether the account exists.
+     */
+    public boolean verify(String plainPassword, String hash) {
+        boolean matches = BcryptUtil.matches(plainPassword, hash != null ? hash : dummyHash);
+        return hash != null && matches;
+    }
+
+    /** Whether a stored hash uses a different cost than the configured one. */
+    public boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    /** Hash at the configured cost on the calling thread; for tasks already on the pool. */
+    String encode(String plainPassword) {
+        return BcryptUtil.bcryptHash(plainPassword, cost);
+    }
+
+    public Stats stats() {
+        return new Stats(executor.getCorePoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+            executor.getCompletedTaskCount(), rejected.get());
+    }
+
+    /** The cost of a {@code $2a$NN$...} hash, or -1 if it is not one. */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7
+                || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
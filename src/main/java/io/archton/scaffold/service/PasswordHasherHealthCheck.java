@@ -0,0 +1,32 @@
+package io.archton.scaffold.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Reports the password hashing pool on {@code /q/health/ready}. Always UP: a full pool
+ * sheds logins and signups with 503 but the node still serves everything else.
+ */
+@Readiness
+@ApplicationScoped
+public class PasswordHasherHealthCheck implements HealthCheck {
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Override
+    public HealthCheckResponse call() {
+        PasswordHasher.Stats stats = passwordHasher.stats();
+        return HealthCheckResponse.named("password-hasher")
+            .up()
+            .withData("threads", stats.threads())
+            .withData("active", stats.active())
+            .withData("queued", stats.queued())
+            .withData("completed", stats.completed())
+            .withData("rejected", stats.rejected())
+            .build();
+    }
+}
@@ -0,0 +1,108 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.UserLoginRepository;
+import io.archton.scaffold.service.exception.RateLimitedException;
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.security.AuthenticationFailedException;
+import io.quarkus.security.identity.AuthenticationRequestContext;
+import io.quarkus.security.identity.IdentityProvider;
+import io.quarkus.security.identity.SecurityIdentity;
+import io.quarkus.security.identity.request.UsernamePasswordAuthenticationRequest;
+import io.quarkus.security.runtime.QuarkusPrincipal;
+import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+/**
+ * Form login ({@code j_security_check}) against {@code user_login}, with the BCrypt check
+ * on the {@link PasswordHasher} pool instead of a request worker.
+ * <p>
+ * Takes precedence over the provider generated by security-jpa, which would hash on the
+ * worker pool. The whole login (user lookup and verification) runs as one pool task, so
+ * when the pool is saturated the attempt fails fast with 503 and never holds a worker.
+ * Attempts for an email over its {@link LoginRateLimits} budget are refused (429) before
+ * the lookup. A successful login whose stored hash has a different cost than
+ * {@code app.security.bcrypt.cost} is rehashed in the background.
+ */
+@ApplicationScoped
+public class PasswordIdentityProvider implements IdentityProvider<UsernamePasswordAuthenticationRequest> {
+
+    private static final Logger LOG = Logger.getLogger(PasswordIdentityProvider.class);
+
+    @Inject
+    UserLoginRepository userLoginRepository;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    LoginRateLimits loginRateLimits;
+
+    private record Account(Long id, String email, String role, String hash) {}
+
+    @Override
+    public Class<UsernamePasswordAuthenticationRequest> getRequestType() {
+        return UsernamePasswordAuthenticationRequest.class;
+    }
+
+    @Override
+    public int priority() {
+        return SYSTEM_FIRST;
+    }
+
+    @Override
+    public Uni<SecurityIdentity> authenticate(UsernamePasswordAuthenticationRequest request,
+                                              AuthenticationRequestContext context) {
+        String username = request.getUsername();
+        String password = new String(request.getPassword().getPassword());
+        try {
+            loginRateLimits.checkEmail(username);
+        } catch (RateLimitedException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return Uni.createFrom().completionStage(() -> passwordHasher.submit(() -> login(username, password)));
+    }
+
+    private SecurityIdentity login(String username, String password) {
+        Account account = QuarkusTransaction.requiringNew().call(() ->
+            userLoginRepository.findByEmail(username)
+                .map(u -> new Account(u.id, u.email, u.role, u.password))
+                .orElse(null));
+
+        if (!passwordHasher.verify(password, account != null ? account.hash() : null)) {
+            throw new AuthenticationFailedException();
+        }
+        if (passwordHasher.needsRehash(account.hash())) {
+            rehash(account, password);
+        }
+
+        QuarkusSecurityIdentity.Builder identity = QuarkusSecurityIdentity.builder()
+            .setPrincipal(new QuarkusPrincipal(account.email()));
+        for (String role : account.role().split(",")) {
+            if (!role.isBlank()) {
+                identity.addRole(role.trim());
+            }
+        }
+        return identity.build();
+    }
+
+    /** Re-encode at the current cost, off the login's path; skipped when the pool is busy. */
+    private void rehash(Account account, String password) {
+        try {
+            passwordHasher.submit(() -> {
+                String hash = passwordHasher.encode(password);
+                return QuarkusTransaction.requiringNew().call(() ->
+                    userLoginRepository.update("password = ?1 where id = ?2 and password = ?3",
+                        hash, account.id(), account.hash()));
+            }).exceptionally(e -> {
+                LOG.warnf(e, "Rehash of %s failed", account.email());
+                return 0;
+            });
+        } catch (ServiceOverloadedException e) {
+            LOG.debugf("Hashing pool busy, rehash of %s deferred to a later login", account.email());
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Gender;
+import io.archton.scaffold.entity.Title;
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of persons from CSV.
+ * <p>
+ * An import runs as a background job: the upload is read one record at a time, each
+ * batch of rows is validated against the cached lookups, checked for existing emails
+ * with a single set-based query, and inserted with one JDBC batch in its own
+ * transaction. Progress and per-row errors are exposed through {@link ImportJob} for
+ * the HTMX-polled status fragment.
+ * <p>
+ * Expected header (case-insensitive, {@code first_name} style also accepted):
+ * {@code firstName,lastName,email,phone,dateOfBirth,title,gender,notes}.
+ * Title and gender may be given by code or description.
+ */
+@ApplicationScoped
+public class PersonImportService {
+
+    private static final Logger LOG = Logger.getLogger(PersonImportService.class);
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private static final String EXISTING_EMAILS_SQL =
+        "SELECT LOWER(email) FROM person WHERE LOWER(email) = ANY (?)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO person (first_name, last_name, email, phone, date_of_birth, title_id, gender_id, notes, "
+            + "created_at, updated_at, created_by, updated_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @ConfigProperty(name = "app.person-import.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "app.person-import.max-concurrent-jobs", defaultValue = "2")
+    int maxConcurrentJobs;
+
+    @ConfigProperty(name = "app.person-import.max-queued-jobs", defaultValue = "10")
+    int maxQueuedJobs;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    /**
+     * A rejected row. {@code line} is the CSV line the record starts on.
+     */
+    public record RowError(long line, String email, String message) {}
+
+    /**
+     * Progress of one import. Counters are updated by the worker and read by the
+     * status endpoint; the error list is append-only and capped.
+     */
+    public static class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String fileName;
+        private final long totalBytes;
+        private final String userName;
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger errorCount = new AtomicInteger();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile Status status = Status.QUEUED;
+        private volatile String failure;
+        private volatile Instant finishedAt;
+
+        ImportJob(String fileName, long totalBytes, String userName) {
+            this.fileName = fileName;
+            this.totalBytes = totalBytes;
+            this.userName = userName;
+        }
+
+        public String getId() { return id; }
+        public String getFileName() { return fileName; }
+        public Status getStatus() { return status; }
+        public String getFailure() { return failure; }
+        public int getProcessed() { return processed.get(); }
+        public int getImported() { return imported.get(); }
+        public int getErrorCount() { return errorCount.get(); }
+        public boolean isFinished() { return status == Status.COMPLETED || status == Status.FAILED; }
+
+        public int getPercent() {
+            if (isFinished()) {
+                return 100;
+            }
+            return totalBytes > 0 ? (int) Math.min(99, bytesRead.get() * 100 / totalBytes) : 0;
+        }
+
+        public List<RowError> getErrors() {
+            synchronized (errors) {
+                return List.copyOf(errors);
+            }
+        }
+
+        void reject(long line, String email, String message) {
+            errorCount.incrementAndGet();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, email, message));
+            }
+        }
+    }
+
+    /** A validated row waiting for its batch to be inserted. */
+    private record PendingRow(long line, String firstName, String lastName, String email, String phone,
+                              LocalDate dateOfBirth, Long titleId, Long genderId, String notes) {}
+
+    /**
+     * Start importing the given CSV file in the background. The service takes ownership
+     * of the file and deletes it when the job ends (or now, if the job is refused).
+     * <p>
+     * The lookups are captured here, on the request thread: the worker has no request
+     * context or transaction in which to load the snapshot.
+     *
+     * @throws ServiceOverloadedException if {@code app.person-import.max-queued-jobs}
+     *         imports are already waiting for a worker
+     */
+    public ImportJob start(Path csvFile, String fileName, String userName) throws IOException {
+        evictFinishedJobs();
+        ReferenceDataCache.Snapshot lookups = referenceDataCache.snapshot();
+        ImportJob job = new ImportJob(fileName, Files.size(csvFile), userName);
+        try {
+            executor().execute(() -> run(job, csvFile, lookups));
+        } catch (RejectedExecutionException e) {
+            Files.deleteIfExists(csvFile);
+            throw new ServiceOverloadedException("Too many imports are in progress", RETRY_AFTER);
+        }
+        jobs.put(job.id, job);
+        return job;
+    }
+
+    /**
+     * The job with this id, if it was started by {@code userName}; null otherwise, so one
+     * user cannot follow (or learn the existence of) another user's import.
+     */
+    public ImportJob find(String jobId, String userName) {
+        ImportJob job = jobId != null ? jobs.get(jobId) : null;
+        return job != null && job.userName.equals(userName) ? job : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    AtomicInteger threads = new AtomicInteger();
+                    // Fixed pool with a bounded queue: excess uploads are refused, not queued forever
+                    executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs,
+                        0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxQueuedJobs), r -> {
+                            Thread t = new Thread(r, "person-import-" + threads.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        });
+                }
+            }
+        }
+        return executor;
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(ImportJob job, Path csvFile, ReferenceDataCache.Snapshot lookups) {
+        job.status = Status.RUNNING;
+        try (InputStream in = new CountingInputStream(Files.newInputStream(csvFile), job.bytesRead);
+             CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            importRecords(job, csv, lookups);
+            job.status = Status.COMPLETED;
+        } catch (Exception e) {
+            LOG.errorf(e, "Person import %s failed", job.id);
+            job.failure = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            try {
+                Files.deleteIfExists(csvFile);
+            } catch (IOException e) {
+                LOG.warnf("Could not delete import upload %s", csvFile);
+            }
+        }
+    }
+
+    private void importRecords(ImportJob job, CsvReader csv, ReferenceDataCache.Snapshot lookups)
+            throws IOException {
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IOException("The file is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeHeader(header.get(i)), i);
+        }
+        for (String required : List.of("firstname", "lastname", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Missing required column: " + required);
+            }
+        }
+
+        // Resolve lookups from the snapshot taken at start, by code or description
+        Map<String, Long> titleIds = new HashMap<>();
+        for (Title t : lookups.titles()) {
+            titleIds.put(t.code.toLowerCase(Locale.ROOT), t.id);
+            titleIds.put(t.description.toLowerCase(Locale.ROOT), t.id);
+        }
+        Map<String, Long> genderIds = new HashMap<>();
+        for (Gender g : lookups.genders()) {
+            genderIds.put(g.code.toLowerCase(Locale.ROOT), g.id);
+            genderIds.put(g.description.toLowerCase(Locale.ROOT), g.id);
+        }
+
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            job.processed.incrementAndGet();
+            PendingRow row = validate(job, csv.recordLine(), record, columns, titleIds, genderIds, seenEmails);
+            if (row != null) {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    insertBatch(job, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(job, batch);
+        }
+    }
+
+    private PendingRow validate(ImportJob job, long line, List<String> record, Map<String, Integer> columns,
+                                Map<String, Long> titleIds, Map<String, Long> genderIds, Set<String> seenEmails) {
+        String firstName = field(record, columns, "firstname");
+        String lastName = field(record, columns, "lastname");
+        String email = field(record, columns, "email");
+        String phone = field(record, columns, "phone");
+        String dateOfBirth = field(record, columns, "dateofbirth");
+        String title = field(record, columns, "title");
+        String gender = field(record, columns, "gender");
+        String notes = field(record, columns, "notes");
+
+        if (email != null) {
+            email = email.toLowerCase(Locale.ROOT);
+        }
+        if (firstName == null) {
+            job.reject(line, email, "First name is required.");
+            return null;
+        }
+        if (lastName == null) {
+            job.reject(line, email, "Last name is required.");
+            return null;
+        }
+        if (email == null) {
+            job.reject(line, null, "Email is required.");
+            return null;
+        }
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            job.reject(line, email, "Invalid email format.");
+            return null;
+        }
+        if (firstName.length() > 100 || lastName.length() > 100 || email.length() > 255
+                || (phone != null && phone.length() > 50)) {
+            job.reject(line, email, "Value too long.");
+            return null;
+        }
+
+        LocalDate dob = null;
+        if (dateOfBirth != null) {
+            try {
+                dob = LocalDate.parse(dateOfBirth);
+            } catch (DateTimeParseException e) {
+                job.reject(line, email, "Invalid date of birth (expected yyyy-MM-dd).");
+                return null;
+            }
+        }
+        Long titleId = null;
+        if (title != null) {
+            titleId = titleIds.get(title.toLowerCase(Locale.ROOT));
+            if (titleId == null) {
+                job.reject(line, email, "Unknown title: " + title);
+                return null;
+            }
+        }
+        Long genderId = null;
+        if (gender != null) {
+            genderId = genderIds.get(gender.toLowerCase(Locale.ROOT));
+            if (genderId == null) {
+                job.reject(line, email, "Unknown gender: " + gender);
+                return null;
+            }
+        }
+        if (!seenEmails.add(email)) {
+            job.reject(line, email, "Duplicate email in file.");
+            return null;
+        }
+        return new PendingRow(line, firstName, lastName, email, phone, dob, titleId, genderId, notes);
+    }
+
+    /**
+     * Drop rows whose email already exists (one query for the whole batch), then insert
+     * the rest with a single JDBC batch. Rows that lose a race with a concurrent insert
+     * are skipped by {@code ON CONFLICT DO NOTHING} and reported as duplicates.
+     */
+    private void insertBatch(ImportJob job, List<PendingRow> batch) {
+        try {
+            QuarkusTransaction.requiringNew().call(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    Set<String> existing = existingEmails(connection, batch);
+                    Timestamp now = Timestamp.from(Instant.now());
+                    List<PendingRow> inserted = new ArrayList<>(batch.size());
+                    try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                        for (PendingRow row : batch) {
+                            if (existing.contains(row.email())) {
+                                job.reject(row.line(), row.email(), "Email already registered.");
+                                continue;
+                            }
+                            ps.setString(1, row.firstName());
+                            ps.setString(2, row.lastName());
+                            ps.setString(3, row.email());
+                            ps.setString(4, row.phone());
+                            ps.setDate(5, row.dateOfBirth() != null ? Date.valueOf(row.dateOfBirth()) : null);
+                            setLong(ps, 6, row.titleId());
+                            setLong(ps, 7, row.genderId());
+                            ps.setString(8, row.notes());
+                            ps.setTimestamp(9, now);
+                            ps.setTimestamp(10, now);
+                            ps.setString(11, job.userName);
+                            ps.setString(12, job.userName);
+                            ps.addBatch();
+                            inserted.add(row);
+                        }
+                        if (inserted.isEmpty()) {
+                            return null;
+                        }
+                        int[] counts = ps.executeBatch();
+                        for (int i = 0; i < counts.length; i++) {
+                            if (counts[i] == 0) {
+                                PendingRow row = inserted.get(i);
+                                job.reject(row.line(), row.email(), "Email already registered.");
+                            } else {
+                                job.imported.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // The whole batch rolled back: report every row so nothing is silently lost
+            LOG.warnf(e, "Person import %s: batch failed", job.id);
+            String message = "Batch failed: " + rootMessage(e);
+            for (PendingRow row : batch) {
+                job.reject(row.line(), row.email(), message);
+            }
+        }
+    }
+
+    private static Set<String> existingEmails(Connection connection, List<PendingRow> batch) throws SQLException {
+        String[] emails = batch.stream().map(PendingRow::email).toArray(String[]::new);
+        Set<String> existing = new HashSet<>();
+        try (PreparedStatement ps = connection.prepareStatement(EXISTING_EMAILS_SQL)) {
+            Array array = connection.createArrayOf("text", emails);
+            ps.setArray(1, array);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString(1));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        // Undo the export's formula guard ('=..., '+..., see PersonResource.csvField)
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalizeHeader(String header) {
+        return header.replace("_", "").replace(" ", "").replace("\uFEFF", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /** Tracks how much of the upload has been consumed, for the progress bar. */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.archton.scaffold.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets keyed by string (client IP, email, ...).
+ * <p>
+ * Each key gets a bucket of {@code capacity} tokens that refills one token per
+ * {@code refill} interval; a request takes one token or is refused. Keys are spread over
+ * lock stripes, each an access-ordered LRU map holding at most {@code maxKeys / stripes}
+ * buckets, so memory stays bounded however many keys an attacker rotates through. An
+ * evicted key simply starts again with a full bucket.
+ */
+public final class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Bucket> {
+        final ReentrantLock lock = new ReentrantLock();
+        final int maxKeys;
+
+        Stripe(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    private final int capacity;
+    private final long refillNanos;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public RateLimiter(int capacity, Duration refill, int maxKeys) {
+        this(capacity, refill, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int capacity, Duration refill, int maxKeys, LongSupplier clock) {
+        if (capacity < 1 || refill.isNegative() || refill.isZero()) {
+            throw new IllegalArgumentException("capacity and refill must be positive");
+        }
+        this.capacity = capacity;
+        this.refillNanos = refill.toNanos();
+        this.clock = clock;
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Take a token for {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long acquire(String key) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        long now = clock.getAsLong();
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = capacity;
+                bucket.updatedAt = now;
+                stripe.put(key, bucket);
+            } else {
+                long elapsed = now - bucket.updatedAt;
+                if (elapsed > 0) {
+                    bucket.tokens = Math.min(capacity, bucket.tokens + (double) elapsed / refillNanos);
+                    bucket.updatedAt = now;
+                }
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) ((1 - bucket.tokens) * refillNanos));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** Number of keys currently tracked (for tests and monitoring). */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,169 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Gender;
+import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.entity.Title;
+import io.archton.scaffold.repository.GenderRepository;
+import io.archton.scaffold.repository.RelationshipRepository;
+import io.archton.scaffold.repository.TitleRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Application-wide cache of the Title, Gender and Relationship lookup tables.
+ * <p>
+ * Readers get an immutable {@link Snapshot}; writers never modify a snapshot in place.
+ * A write to any lookup table calls {@link #invalidate()}, which discards the current
+ * snapshot once the writing transaction commits, and the next reader builds a fresh one.
+ * The cached entities are detached: treat them as read-only.
+ * <p>
+ * There is no TTL, so a snapshot must never be built from a lagging read replica. The
+ * load runs in a transaction of its own, which {@code ReplicaTenantResolver} always
+ * sends to the primary, even when the request that triggered it was routed.
+ */
+@ApplicationScoped
+public class ReferenceDataCache {
+
+    @Inject
+    TitleRepository titleRepository;
+
+    @Inject
+    GenderRepository genderRepository;
+
+    @Inject
+    RelationshipRepository relationshipRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot current;
+
+    /**
+     * Immutable view of the lookup tables at a given version.
+     * Lists are ordered by code, matching the repositories' {@code listAllOrdered()}.
+     * The option sets are the pre-rendered {@code <select>} contents for the form modals
+     * (value = id) and the graph relationship filter (value = code, ordered by description).
+     */
+    public record Snapshot(
+            long version,
+            List<Title> titles,
+            List<Gender> genders,
+            List<Relationship> relationships,
+            Map<Long, Title> titlesById,
+            Map<Long, Gender> gendersById,
+            Map<Long, Relationship> relationshipsById,
+            SelectOptions titleOptions,
+            SelectOptions genderOptions,
+            SelectOptions relationshipOptions,
+            SelectOptions relationshipFilterOptions) {
+
+        public Title title(Long id) {
+            return id != null ? titlesById.get(id) : null;
+        }
+
+        public Gender gender(Long id) {
+            return id != null ? gendersById.get(id) : null;
+        }
+
+        public Relationship relationship(Long id) {
+            return id != null ? relationshipsById.get(id) : null;
+        }
+    }
+
+    /**
+     * Return the current snapshot, loading it from the database if it was invalidated.
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current;
+        return snapshot != null ? snapshot : load();
+    }
+
+    /**
+     * Discard the current snapshot. Inside a transaction the eviction is deferred until
+     * commit, so concurrent readers never cache uncommitted (or rolled back) lookup data.
+     */
+    public void invalidate() {
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        evict();
+                    }
+                }
+            });
+        } else {
+            evict();
+        }
+    }
+
+    private void evict() {
+        version.incrementAndGet();
+        current = null;
+    }
+
+    private Snapshot load() {
+        loadLock.lock();
+        try {
+            Snapshot snapshot = current;
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long loadVersion = version.get();
+            Lookups lookups = QuarkusTransaction.requiringNew().call(() -> new Lookups(
+                List.copyOf(titleRepository.listAllOrdered()),
+                List.copyOf(genderRepository.listAllOrdered()),
+                List.copyOf(relationshipRepository.listAllOrdered())));
+            List<Title> titles = lookups.titles();
+            List<Gender> genders = lookups.genders();
+            List<Relationship> relationships = lookups.relationships();
+            snapshot = new Snapshot(
+                loadVersion,
+                titles,
+                genders,
+                relationships,
+                indexById(titles, t -> t.id),
+                indexById(genders, g -> g.id),
+                indexById(relationships, r -> r.id),
+                SelectOptions.of(titles, t -> t.id, t -> String.valueOf(t.id), t -> t.description),
+                SelectOptions.of(genders, g -> g.id, g -> String.valueOf(g.id), g -> g.description),
+                SelectOptions.of(relationships, r -> r.id, r -> String.valueOf(r.id), r -> r.description),
+                SelectOptions.of(
+                    relationships.stream().sorted(Comparator.comparing(r -> r.description)).toList(),
+                    r -> r.id, r -> r.code, r -> r.description)
+            );
+            // Only publish if no write committed while we were loading; otherwise the
+            // caller still gets this snapshot, but the next reader reloads.
+            if (version.get() == loadVersion) {
+                current = snapshot;
+            }
+            return snapshot;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private record Lookups(List<Title> titles, List<Gender> genders, List<Relationship> relationships) {}
+
+    private static <T> Map<Long, T> indexById(List<T> items, Function<T, Long> id) {
+        return items.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,336 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Relationship;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonParser;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk ingest of person relationships (edges) from CSV or JSON.
+ * <p>
+ * Input is read as a stream and processed in batches. For each batch the unknown
+ * emails are resolved to person ids with one {@code LOWER(email) = ANY(?)} query (ids are
+ * remembered for the rest of the import), relationship codes come from the
+ * {@link ReferenceDataCache}, and the edges are written with one JDBC batch of
+ * {@code INSERT ... ON CONFLICT ON CONSTRAINT uk_person_relationship DO NOTHING},
+ * so existing edges are counted as duplicates rather than failing the batch.
+ * <p>
+ * CSV needs a header with {@code sourceEmail,relatedEmail,relationshipCode}
+ * ({@code source_email} style also accepted). JSON is an array of objects with the
+ * same three properties.
+ */
+@ApplicationScoped
+public class RelationshipImportService {
+
+    private static final Logger LOG = Logger.getLogger(RelationshipImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_CACHED_EMAILS = 200_000;
+
+    private static final String RESOLVE_EMAILS_SQL =
+        "SELECT LOWER(email), id FROM person WHERE LOWER(email) = ANY (?)";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO person_relationship (source_person_id, related_person_id, relationship_id, "
+            + "created_at, updated_at, created_by, updated_by) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT ON CONSTRAINT uk_person_relationship DO NOTHING";
+
+    @Inject
+    DataSource dataSource;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @ConfigProperty(name = "app.relationship-import.batch-size", defaultValue = "5000")
+    int batchSize;
+
+    public enum Format { CSV, JSON }
+
+    /**
+     * A rejected edge. {@code position} is the CSV line or the 1-based JSON array index.
+     */
+    public record EdgeError(long position, String message) {}
+
+    /**
+     * Outcome of one import. {@code errors} holds at most the first 1000 rejections.
+     */
+    public record ImportResult(int received, int inserted, int duplicates, int rejected, List<EdgeError> errors) {}
+
+    /** One input edge before id resolution. */
+    private record EdgeRow(long position, String sourceEmail, String relatedEmail, Long relationshipId) {}
+
+    /** Reads edges one at a time from the request body. */
+    private interface EdgeReader {
+        /** Next edge, or null at end of input. Rows with a missing value are returned with nulls. */
+        EdgeRow next() throws IOException;
+    }
+
+    private static final class Counters {
+        int received;
+        int inserted;
+        int duplicates;
+        int rejected;
+        final List<EdgeError> errors = new ArrayList<>();
+
+        void reject(long position, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EdgeError(position, message));
+            }
+        }
+    }
+
+    /**
+     * Import all edges from the given stream. Each batch commits independently, so a
+     * failure part-way leaves earlier batches in place and reports the failed rows.
+     */
+    public ImportResult importEdges(InputStream input, Format format, String userName) throws IOException {
+        Map<String, Long> relationshipIds = new HashMap<>();
+        for (Relationship r : referenceDataCache.snapshot().relationships()) {
+            relationshipIds.put(r.code.toUpperCase(Locale.ROOT), r.id);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        EdgeReader edges = format == Format.JSON ? jsonReader(reader, relationshipIds) : csvReader(reader, relationshipIds);
+
+        Counters counters = new Counters();
+        Map<String, Long> personIds = new HashMap<>();
+        List<EdgeRow> batch = new ArrayList<>(batchSize);
+        EdgeRow row;
+        while ((row = edges.next()) != null) {
+            counters.received++;
+            if (row.sourceEmail() == null || row.relatedEmail() == null) {
+                counters.reject(row.position(), "Source and related email are required.");
+            } else if (row.relationshipId() == null) {
+                counters.reject(row.position(), "Unknown relationship code.");
+            } else if (row.sourceEmail().equals(row.relatedEmail())) {
+                counters.reject(row.position(), "A person cannot be related to themselves.");
+            } else {
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    insertBatch(batch, personIds, counters, userName);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, personIds, counters, userName);
+        }
+        return new ImportResult(counters.received, counters.inserted, counters.duplicates,
+            counters.rejected, List.copyOf(counters.errors));
+    }
+
+    /** What one committed batch did; applied to the counters only after commit. */
+    private record BatchOutcome(int inserted, int duplicates, List<EdgeError> unknownPersons) {}
+
+    private void insertBatch(List<EdgeRow> batch, Map<String, Long> personIds, Counters counters, String userName) {
+        if (personIds.size() > MAX_CACHED_EMAILS) {
+            personIds.clear();
+        }
+        BatchOutcome outcome;
+        try {
+            outcome = QuarkusTransaction.requiringNew().call(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    resolvePersonIds(connection, batch, personIds);
+
+                    Timestamp now = Timestamp.from(Instant.now());
+                    List<EdgeError> unknownPersons = new ArrayList<>();
+                    int queued = 0;
+                    int inserted = 0;
+                    int duplicates = 0;
+                    try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+                        for (EdgeRow row : batch) {
+                            Long sourceId = personIds.get(row.sourceEmail());
+                            Long relatedId = personIds.get(row.relatedEmail());
+                            if (sourceId == null || relatedId == null) {
+                                unknownPersons.add(new EdgeError(row.position(), "Unknown person: "
+                                    + (sourceId == null ? row.sourceEmail() : row.relatedEmail())));
+                                continue;
+                            }
+                            ps.setLong(1, sourceId);
+                            ps.setLong(2, relatedId);
+                            ps.setLong(3, row.relationshipId());
+                            ps.setTimestamp(4, now);
+                            ps.setTimestamp(5, now);
+                            ps.setString(6, userName);
+                            ps.setString(7, userName);
+                            ps.addBatch();
+                            queued++;
+                        }
+                        if (queued > 0) {
+                            for (int count : ps.executeBatch()) {
+                                if (count == 0) {
+                                    duplicates++;
+                                } else {
+                                    inserted++;
+                                }
+                            }
+                        }
+                    }
+                    return new BatchOutcome(inserted, duplicates, unknownPersons);
+                }
+            });
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Relationship import batch of %d edges failed", batch.size());
+            String message = "Batch failed: " + rootMessage(e);
+            for (EdgeRow row : batch) {
+                counters.reject(row.position(), message);
+            }
+            return;
+        }
+        counters.inserted += outcome.inserted();
+        counters.duplicates += outcome.duplicates();
+        for (EdgeError error : outcome.unknownPersons()) {
+            counters.reject(error.position(), error.message());
+        }
+    }
+
+    /** Resolve all emails of the batch not already known, with a single query. */
+    private static void resolvePersonIds(Connection connection, List<EdgeRow> batch, Map<String, Long> personIds)
+            throws SQLException {
+        Set<String> missing = new HashSet<>();
+        for (EdgeRow row : batch) {
+            if (!personIds.containsKey(row.sourceEmail())) {
+                missing.add(row.sourceEmail());
+            }
+            if (!personIds.containsKey(row.relatedEmail())) {
+                missing.add(row.relatedEmail());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(RESOLVE_EMAILS_SQL)) {
+            ps.setArray(1, connection.createArrayOf("text", missing.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    personIds.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+    }
+
+    private static EdgeReader csvReader(BufferedReader reader, Map<String, Long> relationshipIds) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return () -> null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("_", "").replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("sourceemail", "relatedemail", "relationshipcode")) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Missing required column: " + required);
+            }
+        }
+        int source = columns.get("sourceemail");
+        int related = columns.get("relatedemail");
+        int code = columns.get("relationshipcode");
+        return () -> {
+            List<String> record = csv.readRecord();
+            if (record == null) {
+                return null;
+            }
+            return edge(csv.recordLine(), field(record, source), field(record, related), field(record, code),
+                relationshipIds);
+        };
+    }
+
+    private static EdgeReader jsonReader(BufferedReader reader, Map<String, Long> relationshipIds) {
+        JsonParser parser = Json.createParser(reader);
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of relationships.");
+        }
+        long[] index = {0};
+        return () -> {
+            while (parser.hasNext()) {
+                JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_ARRAY) {
+                    return null;
+                }
+                if (event != JsonParser.Event.START_OBJECT) {
+                    throw new IOException("Expected an object at array index " + (index[0] + 1));
+                }
+                index[0]++;
+                String source = null;
+                String related = null;
+                String code = null;
+                String key = null;
+                while ((event = parser.next()) != JsonParser.Event.END_OBJECT) {
+                    switch (event) {
+                        case KEY_NAME -> key = parser.getString();
+                        case VALUE_STRING -> {
+                            switch (key) {
+                                case "sourceEmail" -> source = parser.getString();
+                                case "relatedEmail" -> related = parser.getString();
+                                case "relationshipCode" -> code = parser.getString();
+                                default -> { }
+                            }
+                        }
+                        case START_OBJECT -> parser.skipObject();
+                        case START_ARRAY -> parser.skipArray();
+                        default -> { }
+                    }
+                }
+                return edge(index[0], source, related, code, relationshipIds);
+            }
+            return null;
+        };
+    }
+
+    private static EdgeRow edge(long position, String source, String related, String code,
+                                Map<String, Long> relationshipIds) {
+        return new EdgeRow(
+            position,
+            normalizeEmail(source),
+            normalizeEmail(related),
+            code != null ? relationshipIds.get(code.trim().toUpperCase(Locale.ROOT)) : null
+        );
+    }
+
+    /** Emails are stored lower-cased and trimmed (see Person's lifecycle callbacks). */
+    private static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
@@ -0,0 +1,124 @@
+package io.archton.scaffold.service;
+
+import io.quarkus.qute.RawString;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Pre-rendered, HTML-escaped {@code <option>} elements for a lookup {@code <select>}.
+ * <p>
+ * Built once per {@link ReferenceDataCache.Snapshot}, so templates no longer walk the
+ * lookup list and escape every label on each request. Rendering with a selection only
+ * splices the {@code selected} attribute into the matching option.
+ */
+public final class SelectOptions {
+
+    public static final SelectOptions EMPTY = new SelectOptions(List.of(), List.of(), List.of(), o -> null);
+
+    private final String html;
+    private final String[] selectedOptions;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final Map<Long, Integer> indexById;
+    private final Function<Object, Long> idOf;
+
+    private SelectOptions(List<Long> ids, List<String> values, List<String> labels, Function<Object, Long> idOf) {
+        StringBuilder sb = new StringBuilder();
+        int size = ids.size();
+        this.selectedOptions = new String[size];
+        this.offsets = new int[size];
+        this.lengths = new int[size];
+        this.indexById = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String value = escape(values.get(i));
+            String label = escape(labels.get(i));
+            String option = "<option value=\"" + value + "\">" + label + "</option>";
+            if (i > 0) {
+                sb.append('\n');
+            }
+            offsets[i] = sb.length();
+            lengths[i] = option.length();
+            sb.append(option);
+            selectedOptions[i] = "<option value=\"" + value + "\" selected>" + label + "</option>";
+            indexById.put(ids.get(i), i);
+        }
+        this.html = sb.toString();
+        this.idOf = idOf;
+    }
+
+    /**
+     * Pre-render options for the given items, in list order.
+     *
+     * @param id    identity used to match the selected item
+     * @param value the option's submitted value
+     * @param label the option's visible text
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SelectOptions of(List<T> items, Function<T, Long> id,
+                                       Function<T, String> value, Function<T, String> label) {
+        return new SelectOptions(
+            items.stream().map(id).toList(),
+            items.stream().map(value).toList(),
+            items.stream().map(label).toList(),
+            item -> id.apply((T) item)
+        );
+    }
+
+    /**
+     * All options, none selected.
+     */
+    public RawString render() {
+        return new RawString(html);
+    }
+
+    /**
+     * All options with {@code selected} on the one matching the given item or id.
+     * A null or unknown selection renders the options unselected.
+     */
+    public RawString render(Object selected) {
+        Long id = selected instanceof Long l ? l : (selected != null ? idOf.apply(selected) : null);
+        Integer index = id != null ? indexById.get(id) : null;
+        if (index == null) {
+            return render();
+        }
+        int start = offsets[index];
+        String option = selectedOptions[index];
+        return new RawString(new StringBuilder(html.length() + 9)
+            .append(html, 0, start)
+            .append(option)
+            .append(html, start + lengths[index], html.length())
+            .toString());
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb != null ? sb.toString() : text;
+    }
+}
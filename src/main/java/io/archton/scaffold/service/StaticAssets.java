@@ -0,0 +1,384 @@
+package io.archton.scaffold.service;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.jboss.logging.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-hashed, precompressed copies of the static files under {@code META-INF/resources}.
+ * <p>
+ * Templates link assets through {@link #url(String)}, which returns
+ * {@code /assets/<hash>/<path>}. Because the URL changes whenever the file does, the
+ * response can be cached by browsers and proxies for a year as immutable.
+ * <p>
+ * At startup every file the templates link through {@code asset:url} or {@code asset:lib}
+ * is read, hashed and compressed (gzip and, when the native library is available, brotli
+ * at maximum quality), which takes a few seconds for the library bundles. Requests only
+ * look assets up: nothing is read or compressed on a request thread, several of which are
+ * event-loop threads, and {@code /assets/*} cannot be used to load arbitrary files.
+ * <p>
+ * Files from the mvnpm frontend jars are linked through {@link #libraryUrl(String, String)},
+ * which takes the library version from {@code frontend-libraries.properties} (filtered
+ * from the pom.xml properties at build time), so the versions live in one place.
+ */
+@ApplicationScoped
+public class StaticAssets {
+
+    private static final Logger LOG = Logger.getLogger(StaticAssets.class);
+
+    public static final String PREFIX = "/assets/";
+
+    private static final String ROOT = "META-INF/resources";
+    private static final String TEMPLATES = "templates";
+    private static final String LIBRARIES = "frontend-libraries.properties";
+    private static final int HASH_LENGTH = 12;
+
+    private static final Pattern URL_REFERENCE = Pattern.compile("asset:url\\(\\s*'([^']+)'\\s*\\)");
+    private static final Pattern LIB_REFERENCE =
+        Pattern.compile("asset:lib\\(\\s*'([^']+)'\\s*,\\s*'([^']+)'\\s*\\)");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "css", "text/css;charset=UTF-8",
+        "js", "text/javascript;charset=UTF-8",
+        "svg", "image/svg+xml",
+        "png", "image/png",
+        "ico", "image/x-icon"
+    );
+
+    /** Encodings an asset can be served with, in order of preference. */
+    public enum Encoding {
+        BR("br"), GZIP("gzip"), IDENTITY(null);
+
+        private final String header;
+
+        Encoding(String header) {
+            this.header = header;
+        }
+
+        /** Value for the Content-Encoding header, or null for identity. */
+        public String header() {
+            return header;
+        }
+    }
+
+    /**
+     * One asset. {@code gzip} and {@code brotli} are null when the type is not
+     * compressible or compression would not make the file smaller.
+     */
+    public record Asset(String path, String hash, String contentType,
+                        byte[] identity, byte[] gzip, byte[] brotli) {
+
+        /** The best representation the client accepts. */
+        public Encoding encodingFor(String acceptEncoding) {
+            if (brotli != null && accepts(acceptEncoding, "br")) {
+                return Encoding.BR;
+            }
+            if (gzip != null && accepts(acceptEncoding, "gzip")) {
+                return Encoding.GZIP;
+            }
+            return Encoding.IDENTITY;
+        }
+
+        public byte[] body(Encoding encoding) {
+            return switch (encoding) {
+                case BR -> brotli;
+                case GZIP -> gzip;
+                case IDENTITY -> identity;
+            };
+        }
+    }
+
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+    private final Map<String, String> libraryVersions = loadLibraryVersions();
+
+    /**
+     * Preload every asset the templates link, failing startup when a linked library file
+     * is missing rather than on the first page that needs it.
+     */
+    void preload(@Observes StartupEvent event) {
+        long start = System.nanoTime();
+        Set<String> libraryPaths = new TreeSet<>();
+        Set<String> paths = templateReferences(libraryPaths);
+        preload(paths);
+        for (String path : libraryPaths) {
+            if (!assets.containsKey(path)) {
+                throw new IllegalStateException("Static file " + path + " linked by a template not found; "
+                    + "is its org.mvnpm jar on the classpath?");
+            }
+        }
+        LOG.infof("Preloaded %d of %d static assets linked by templates in %d ms", assets.size(), paths.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Read, hash and compress the given paths below {@code META-INF/resources}. Files that
+     * do not exist are skipped; {@link #url(String)} links them unhashed.
+     */
+    void preload(Collection<String> paths) {
+        // Parallel streams run on common-pool threads, whose context class loader is not the application's
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        paths.parallelStream()
+            .map(StaticAssets::normalize)
+            .flatMap(path -> read(classLoader, path).stream())
+            .forEach(asset -> assets.put(asset.path(), asset));
+    }
+
+    /**
+     * The content-hashed URL for a static file, e.g. {@code /style.css} becomes
+     * {@code /assets/3f2a9c01b7de/style.css}. Files that were not preloaded are returned
+     * unchanged so the page still links them through the plain static handler.
+     */
+    public String url(String path) {
+        return find(path).map(a -> PREFIX + a.hash() + a.path()).orElse(path);
+    }
+
+    /**
+     * The content-hashed URL for a file of an mvnpm library, e.g. {@code ("uikit",
+     * "/dist/js/uikit.min.js")} for {@code /_static/uikit/<version>/dist/js/uikit.min.js}.
+     * Unlike {@link #url(String)} a missing file is an error, not a dead link: it means the
+     * library is not in frontend-libraries.properties, its jar does not have the file, or
+     * the call is not a literal the startup scan of the templates could find.
+     *
+     * @throws IllegalStateException if the library is unknown or the file was not preloaded
+     */
+    public String libraryUrl(String library, String file) {
+        String path = libraryPath(library, file);
+        Asset asset = find(path).orElseThrow(() -> new IllegalStateException(
+            "Static file " + path + " was not preloaded; link it with a literal asset:lib('" + library + "', '"
+                + file + "') in a template, and check the org.mvnpm:" + library + " jar is on the classpath"));
+        return PREFIX + asset.hash() + asset.path();
+    }
+
+    /**
+     * Look up a preloaded asset by its path below {@code META-INF/resources}, with or
+     * without a leading slash.
+     */
+    public Optional<Asset> find(String path) {
+        if (path == null || path.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(assets.get(normalize(path)));
+    }
+
+    private String libraryPath(String library, String file) {
+        String version = libraryVersions.get(library);
+        if (version == null) {
+            throw new IllegalStateException("Unknown frontend library " + library + "; add it to " + LIBRARIES);
+        }
+        return "/_static/" + library + "/" + version + normalize(file);
+    }
+
+    private static String normalize(String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    /**
+     * Paths of the files the templates link with literal {@code asset:url} and
+     * {@code asset:lib} calls. The library files are also added to {@code libraryPaths}.
+     *
+     * @throws IllegalStateException if a template names an unknown library
+     */
+    Set<String> templateReferences(Set<String> libraryPaths) {
+        Set<String> paths = new TreeSet<>();
+        for (String template : templateSources()) {
+            Matcher url = URL_REFERENCE.matcher(template);
+            while (url.find()) {
+                paths.add(normalize(url.group(1)));
+            }
+            Matcher lib = LIB_REFERENCE.matcher(template);
+            while (lib.find()) {
+                String path = libraryPath(lib.group(1), lib.group(2));
+                paths.add(path);
+                libraryPaths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    /** The text of every {@code .html} file below {@code templates} on the classpath. */
+    private static List<String> templateSources() {
+        List<String> sources = new ArrayList<>();
+        try {
+            for (URL root : Collections.list(
+                    Thread.currentThread().getContextClassLoader().getResources(TEMPLATES))) {
+                if (root.getProtocol().equals("jar")) {
+                    JarURLConnection connection = (JarURLConnection) root.openConnection();
+                    connection.setUseCaches(false);
+                    try (JarFile jar = connection.getJarFile()) {
+                        for (JarEntry entry : Collections.list(jar.entries())) {
+                            if (entry.getName().startsWith(TEMPLATES + "/") && entry.getName().endsWith(".html")) {
+                                try (InputStream in = jar.getInputStream(entry)) {
+                                    sources.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                                }
+                            }
+                        }
+                    }
+                } else if (root.getProtocol().equals("file")) {
+                    try (Stream<Path> files = Files.walk(Path.of(root.toURI()))) {
+                        for (Path file : files.filter(f -> f.toString().endsWith(".html")).toList()) {
+                            sources.add(Files.readString(file));
+                        }
+                    }
+                } else {
+                    LOG.warnf("Cannot list templates at %s; their assets are linked unhashed", root);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        return sources;
+    }
+
+    private static Map<String, String> loadLibraryVersions() {
+        Properties properties = new Properties();
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(LIBRARIES)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (String library : properties.stringPropertyNames()) {
+            String version = properties.getProperty(library).trim();
+            // An unfiltered ${...} placeholder means the resource was not built by Maven
+            if (!version.isEmpty() && !version.startsWith("${")) {
+                versions.put(library, version);
+            }
+        }
+        return Map.copyOf(versions);
+    }
+
+    private static Optional<Asset> read(ClassLoader classLoader, String path) {
+        if (path.contains("..") || path.contains("\\")) {
+            return Optional.empty();
+        }
+        byte[] content;
+        try (InputStream in = classLoader.getResourceAsStream(ROOT + path)) {
+            if (in == null) {
+                return Optional.empty();
+            }
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        String contentType = CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+        boolean compressible = contentType.startsWith("text/") || contentType.equals("image/svg+xml");
+
+        byte[] gzip = compressible ? smaller(gzip(content), content) : null;
+        byte[] brotli = compressible ? smaller(brotli(content), content) : null;
+        LOG.debugf("Static asset %s: %d bytes, gzip %s, br %s", path, content.length,
+            gzip != null ? gzip.length : "-", brotli != null ? brotli.length : "-");
+        return Optional.of(new Asset(path, hash(content), contentType, content, gzip, brotli));
+    }
+
+    private static byte[] smaller(byte[] compressed, byte[] original) {
+        return compressed != null && compressed.length < original.length ? compressed : null;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] content) {
+        if (!Brotli4jLoader.isAvailable()) {
+            return null;
+        }
+        try {
+            return Encoder.compress(content, new Encoder.Parameters().setQuality(11));
+        } catch (IOException e) {
+            LOG.warnf(e, "Brotli compression failed, serving gzip only");
+            return null;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header lists the coding (or {@code *}) with a non-zero q.
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String name = params[0].trim();
+            if (!name.equalsIgnoreCase(coding) && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().replace(" ", "");
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
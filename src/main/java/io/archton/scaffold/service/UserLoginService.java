@@ -3,9 +3,9 @@ package io.archton.scaffold.service;
 import io.archton.scaffold.entity.UserLogin;
 import io.archton.scaffold.repository.UserLoginRepository;
 import io.archton.scaffold.service.exception.UniqueConstraintException;
-import io.quarkus.elytron.security.common.BcryptUtil;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 
 @ApplicationScoped
@@ -14,35 +14,56 @@ public class UserLoginService {
     @Inject
     UserLoginRepository userLoginRepository;
 
+    @Inject
+    ActiveUserCache activeUserCache;
+
     /**
-     * Create a new user with hashed password.
-     * Password is hashed using BCrypt with cost factor 12.
+     * Create a new user from an already hashed password. Hash it with
+     * {@link PasswordHasher#hash(String)} before calling: the hash takes a quarter second
+     * on the hashing pool, and waiting for it inside this transaction would hold the
+     * transaction (and its connection) open for that long.
      *
+     * @param passwordHash a BCrypt hash, never the plain password
      * @throws UniqueConstraintException if email already exists
+     * @throws IllegalArgumentException if {@code passwordHash} is not a BCrypt hash
      */
     @Transactional
-    public UserLogin create(String email, String plainPassword, String role) {
-        String normalizedEmail = email.toLowerCase().trim();
-
-        // Validate unique constraint
-        if (userLoginRepository.emailExists(normalizedEmail)) {
-            throw new UniqueConstraintException("email", normalizedEmail,
-                "A user with email '" + normalizedEmail + "' already exists.");
+    public UserLogin createHashed(String email, String passwordHash, String role) {
+        if (PasswordHasher.costOf(passwordHash) < 0) {
+            throw new IllegalArgumentException("Expected a BCrypt hash, not a plain password");
         }
+        String normalizedEmail = email.toLowerCase().trim();
 
         UserLogin user = new UserLogin();
         user.email = normalizedEmail;
-        user.password = BcryptUtil.bcryptHash(plainPassword, 12);
+        user.password = passwordHash;
         user.role = role;
 
-        userLoginRepository.persist(user);
+        // Insert and let the case-insensitive unique index reject duplicates
+        try {
+            userLoginRepository.persistAndFlush(user);
+        } catch (PersistenceException e) {
+            throw UniqueConstraintException.translate(e, UserLoginRepository.EMAIL_UNIQUE_INDEX, "email",
+                normalizedEmail, "A user with email '" + normalizedEmail + "' already exists.");
+        }
+        activeUserCache.invalidate(normalizedEmail);
         return user;
     }
 
     /**
-     * Check if email exists.
+     * Enable or disable an account. Takes effect on this node's next request once the
+     * transaction commits, and on other nodes via the user_login trigger notification.
+     *
+     * @return false if no user has this email
      */
-    public boolean emailExists(String email) {
-        return userLoginRepository.emailExists(email);
+    @Transactional
+    public boolean setActive(String email, boolean active) {
+        return userLoginRepository.findByEmail(email)
+            .map(user -> {
+                user.active = active;
+                activeUserCache.invalidate(user.email);
+                return true;
+            })
+            .orElse(false);
     }
 }
@@ -0,0 +1,14 @@
+package io.archton.scaffold.service.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client or account has used up its login/signup attempts. Reported as 429
+ * with a Retry-After header, through the same handlers as {@link ServiceOverloadedException}.
+ */
+public class RateLimitedException extends ServiceOverloadedException {
+
+    public RateLimitedException(String message, Duration retryAfter) {
+        super(429, message, retryAfter);
+    }
+}
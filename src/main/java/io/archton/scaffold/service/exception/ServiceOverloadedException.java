@@ -0,0 +1,47 @@
+package io.archton.scaffold.service.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded resource (e.g. the password hashing pool) has no capacity left.
+ * Reported as 503 with a Retry-After header instead of queueing the request.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int status;
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        this(503, message, retryAfter);
+    }
+
+    protected ServiceOverloadedException(int status, String message, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    /** HTTP status to answer with: 503 here, 429 for {@link RateLimitedException}. */
+    public int getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** Retry-After in whole seconds, rounded up so clients never retry too early. */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    /** The overload in a failure's cause chain, or null. */
+    public static ServiceOverloadedException find(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ServiceOverloadedException e) {
+                return e;
+            }
+        }
+        return null;
+    }
+}
@@ -1,5 +1,7 @@
 package io.archton.scaffold.service.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
+
 /**
  * Thrown when a unique constraint would be violated.
  */
@@ -14,6 +16,12 @@ public class UniqueConstraintException extends RuntimeException {
         this.fieldValue = fieldValue;
     }
 
+    public UniqueConstraintException(String fieldName, Object fieldValue, String message, Throwable cause) {
+        super(message, cause);
+        this.fieldName = fieldName;
+        this.fieldValue = fieldValue;
+    }
+
     public String getFieldName() {
         return fieldName;
     }
@@ -21,4 +29,31 @@ public class UniqueConstraintException extends RuntimeException {
     public Object getFieldValue() {
         return fieldValue;
     }
+
+    /**
+     * Translate a failed insert/flush: if the cause chain holds a violation of the named
+     * unique constraint (or index), return a {@code UniqueConstraintException} for the
+     * field; otherwise return the original exception unchanged, for the caller to rethrow.
+     */
+    public static RuntimeException translate(RuntimeException e, String constraintName,
+                                             String fieldName, Object fieldValue, String message) {
+        ConstraintViolationException violation = findUniqueViolation(e);
+        if (violation != null && constraintName.equalsIgnoreCase(violation.getConstraintName())) {
+            return new UniqueConstraintException(fieldName, fieldValue, message, e);
+        }
+        return e;
+    }
+
+    /**
+     * The first unique-constraint violation in the cause chain, or null.
+     */
+    public static ConstraintViolationException findUniqueViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve
+                    && cve.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return cve;
+            }
+        }
+        return null;
+    }
 }
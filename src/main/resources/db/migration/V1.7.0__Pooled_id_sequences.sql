@@ -0,0 +1,12 @@
+-- Pooled id generation: Hibernate reserves blocks of 50 ids per sequence call
+-- (pooled-lo optimizer, allocationSize = 50), so inserts no longer need an
+-- IDENTITY round trip each and can be sent as JDBC batches.
+-- The BIGSERIAL column defaults stay in place for plain SQL inserts; a default
+-- nextval() simply claims the next block, so the two never hand out the same id.
+
+ALTER SEQUENCE gender_id_seq INCREMENT BY 50;
+ALTER SEQUENCE title_id_seq INCREMENT BY 50;
+ALTER SEQUENCE user_login_id_seq INCREMENT BY 50;
+ALTER SEQUENCE person_id_seq INCREMENT BY 50;
+ALTER SEQUENCE relationship_id_seq INCREMENT BY 50;
+ALTER SEQUENCE person_relationship_id_seq INCREMENT BY 50;
@@ -0,0 +1,15 @@
+-- Case-insensitive email uniqueness enforced by the database.
+-- The application inserts and translates a violation of these indexes instead of
+-- running a LOWER(email) pre-check, which needed a sequential scan and raced with
+-- concurrent inserts.
+
+-- person: every lookup goes through LOWER(email), so the functional index replaces
+-- both the plain unique constraint and the plain index.
+ALTER TABLE person DROP CONSTRAINT uq_person_email;
+DROP INDEX idx_person_email;
+CREATE UNIQUE INDEX uq_person_email_lower ON person (LOWER(email));
+
+-- user_login: login looks emails up by exact (already lower-cased) value, so
+-- idx_user_login_email stays; uniqueness moves to the functional index.
+ALTER TABLE user_login DROP CONSTRAINT uq_user_login_email;
+CREATE UNIQUE INDEX uq_user_login_email_lower ON user_login (LOWER(email));
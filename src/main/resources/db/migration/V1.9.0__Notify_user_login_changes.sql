@@ -0,0 +1,20 @@
+-- Tell every application node when an account's active flag (or the account itself)
+-- changes, so cached "is this user active" answers are evicted at once instead of
+-- when their TTL runs out. The payload is the email; delivery happens on commit.
+CREATE FUNCTION notify_user_login_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('user_login_changed', NEW.email);
+    ELSE
+        PERFORM pg_notify('user_login_changed', OLD.email);
+        IF TG_OP = 'UPDATE' AND NEW.email IS DISTINCT FROM OLD.email THEN
+            PERFORM pg_notify('user_login_changed', NEW.email);
+        END IF;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER user_login_changed
+    AFTER INSERT OR UPDATE OF active, email OR DELETE ON user_login
+    FOR EACH ROW EXECUTE FUNCTION notify_user_login_changed();
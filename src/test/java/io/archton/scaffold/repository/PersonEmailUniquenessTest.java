@@ -0,0 +1,38 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.service.exception.UniqueConstraintException;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Email uniqueness is enforced by the LOWER(email) unique index and surfaced as a
+ * {@link UniqueConstraintException}, without a pre-check query.
+ */
+@QuarkusTest
+class PersonEmailUniquenessTest {
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Test
+    @TestTransaction
+    void persistUnique_rejectsEmailDifferingOnlyInCase() {
+        Person existing = personRepository.findAll().firstResult();
+
+        Person duplicate = new Person();
+        duplicate.firstName = "Case";
+        duplicate.lastName = "Duplicate";
+        duplicate.email = existing.email.toUpperCase();
+
+        UniqueConstraintException e = assertThrows(UniqueConstraintException.class,
+                () -> personRepository.persistUnique(duplicate));
+        assertEquals("email", e.getFieldName());
+        assertEquals("Email already registered.", e.getMessage());
+    }
+}
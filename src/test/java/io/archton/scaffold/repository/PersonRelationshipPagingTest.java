@@ -0,0 +1,133 @@
+package io.archton.scaffold.repository;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.PersonRelationship;
+import io.archton.scaffold.entity.Relationship;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Walking the keyset pages of a person's relationships must visit every edge exactly
+ * once, in the same order as an unpaged sort, including across rows with equal names.
+ */
+@QuarkusTest
+class PersonRelationshipPagingTest {
+
+    private static final int PAGE = 3;
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    PersonRelationshipRepository personRelationshipRepository;
+
+    @Inject
+    RelationshipRepository relationshipRepository;
+
+    private Person person(String firstName, String lastName, int n) {
+        Person person = new Person();
+        person.firstName = firstName;
+        person.lastName = lastName;
+        person.email = "paging-" + n + "@paging-test.example.com";
+        personRepository.persist(person);
+        return person;
+    }
+
+    /** A hub with ten edges; several related persons share a last name or a full name. */
+    private Person hub() {
+        Person source = person("Hub", "Person", 0);
+        List<Relationship> types = relationshipRepository.listAllOrdered();
+        String[][] names = {
+            {"Ann", "Smith"}, {"Bob", "Smith"}, {"Ann", "Smith"}, {"Cy", "Adams"}, {"Di", "Young"},
+            {"Ed", "Smith"}, {"Ann", "Jones"}, {"Flo", "Adams"}, {"Gus", "Jones"}, {"Ann", "Smith"}
+        };
+        for (int i = 0; i < names.length; i++) {
+            PersonRelationship edge = new PersonRelationship();
+            edge.sourcePerson = source;
+            edge.relatedPerson = person(names[i][0], names[i][1], i + 1);
+            edge.relationship = types.get(i % types.size());
+            personRelationshipRepository.persist(edge);
+        }
+        personRelationshipRepository.flush();
+        return source;
+    }
+
+    private List<Long> walk(Long sourceId, String sortField, String sortDir) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PersonRelationshipRepository.RelationshipPage page = personRelationshipRepository
+                .findPageBySourcePerson(sourceId, null, sortField, sortDir, cursor, PAGE);
+            assertTrue(page.items().size() <= PAGE);
+            page.items().forEach(r -> ids.add(r.id));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> expected(Long sourceId, Comparator<PersonRelationship> order) {
+        return personRelationshipRepository.list("sourcePerson.id", sourceId).stream()
+            .sorted(order.thenComparing(r -> r.id))
+            .map(r -> r.id)
+            .toList();
+    }
+
+    @Test
+    @TestTransaction
+    void pages_coverEveryEdgeOnceInSortOrder() {
+        Long sourceId = hub().id;
+
+        List<Long> byLastName = expected(sourceId,
+            Comparator.<PersonRelationship, String>comparing(r -> r.relatedPerson.lastName)
+                .thenComparing(r -> r.relatedPerson.firstName));
+        assertEquals(10, byLastName.size());
+        assertEquals(byLastName, walk(sourceId, null, null));
+        assertEquals(byLastName.reversed(), walk(sourceId, "lastName", "desc"));
+
+        List<Long> byFirstName = expected(sourceId,
+            Comparator.<PersonRelationship, String>comparing(r -> r.relatedPerson.firstName)
+                .thenComparing(r -> r.relatedPerson.lastName));
+        assertEquals(byFirstName, walk(sourceId, "firstName", "asc"));
+
+        List<Long> byType = expected(sourceId,
+            Comparator.comparing(r -> r.relationship.description));
+        assertEquals(byType, walk(sourceId, "relationship", "asc"));
+    }
+
+    @Test
+    @TestTransaction
+    void lastPage_hasNoCursor() {
+        Long sourceId = hub().id;
+
+        PersonRelationshipRepository.RelationshipPage page = personRelationshipRepository
+            .findPageBySourcePerson(sourceId, "smith", null, null, null, 4);
+
+        assertEquals(4, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @TestTransaction
+    void cursorFromAnotherSort_isRejected() {
+        Long sourceId = hub().id;
+        String cursor = personRelationshipRepository
+            .findPageBySourcePerson(sourceId, null, "relationship", null, null, PAGE)
+            .nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> personRelationshipRepository
+            .findPageBySourcePerson(sourceId, null, "lastName", null, cursor, PAGE));
+        assertThrows(IllegalArgumentException.class, () -> personRelationshipRepository
+            .findPageBySourcePerson(sourceId, null, null, null, "not a cursor!", PAGE));
+    }
+}
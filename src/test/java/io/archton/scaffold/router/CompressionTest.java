@@ -0,0 +1,107 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.emptyOrNullString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+
+/**
+ * Dynamic HTML is compressed when the client accepts it, and static files are linked
+ * through content-hashed URLs served precompressed with immutable caching.
+ */
+@QuarkusTest
+class CompressionTest {
+
+    /** Keep the raw body: RestAssured would otherwise decode gzip itself. */
+    private static final RestAssuredConfig RAW = RestAssuredConfig.config()
+        .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+    private String stylesheetUrl() {
+        String html = given().when().get("/").then().statusCode(200).extract().asString();
+        return Jsoup.parse(html).selectFirst("link[rel=stylesheet][href^=/assets/]").attr("href");
+    }
+
+    @Test
+    void htmlPage_isCompressedWhenAccepted() {
+        given()
+                .config(RAW)
+                .header("Accept-Encoding", "gzip")
+        .when()
+                .get("/")
+        .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"));
+    }
+
+    @Test
+    void smallResponse_isNotCompressed() {
+        // The health check answer is a few bytes of JSON, below app.http.compression.min-size
+        given()
+                .config(RAW)
+                .header("Accept-Encoding", "gzip")
+        .when()
+                .get("/q/health/live")
+        .then()
+                .statusCode(200)
+                .header("Content-Encoding", is(emptyOrNullString()));
+    }
+
+    @Test
+    void hashedAsset_isPrecompressedAndImmutable() {
+        String url = stylesheetUrl();
+
+        Response gzip = given()
+                .config(RAW)
+                .header("Accept-Encoding", "gzip")
+        .when()
+                .get(url);
+        gzip.then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("gzip"))
+                .header("Vary", equalTo("Accept-Encoding"))
+                .header("Cache-Control", equalTo(AssetResource.IMMUTABLE))
+                .header("Content-Type", matchesPattern("text/css.*"));
+
+        given()
+                .config(RAW)
+                .header("Accept-Encoding", "br")
+        .when()
+                .get(url)
+        .then()
+                .statusCode(200)
+                .header("Content-Encoding", equalTo("br"));
+
+        given()
+                .config(RAW)
+                .header("Accept-Encoding", "identity")
+        .when()
+                .get(url)
+        .then()
+                .statusCode(200)
+                .header("Content-Encoding", is(emptyOrNullString()));
+    }
+
+    @Test
+    void staleHash_servesCurrentFileWithoutLongCaching() {
+        given()
+        .when()
+                .get("/assets/000000000000/style.css")
+        .then()
+                .statusCode(200)
+                .header("Cache-Control", equalTo("no-cache"));
+
+        given()
+        .when()
+                .get("/assets/000000000000/missing.css")
+        .then()
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,74 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * UIkit, HTMX and d3 come from the application (mvnpm jars), not a CDN: every script and
+ * stylesheet on the page is a hashed /assets/ URL that resolves with immutable caching.
+ * The library versions in those URLs come from the pom.xml properties, so a version bump
+ * that the templates did not follow would fail these pages instead of linking a 404.
+ */
+@QuarkusTest
+class FrontendAssetsTest {
+
+    @Test
+    void homePage_linksOnlySelfHostedHashedAssets() {
+        String html = given().when().get("/").then().statusCode(200).extract().asString();
+        Document doc = assertSelfHostedAssets(html);
+
+        Element htmx = doc.selectFirst("script[src*=/htmx.org/]");
+        assertNotNull(htmx, "htmx script is linked");
+    }
+
+    @Test
+    void graphPage_linksSelfHostedD3Modules() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+
+        String html = given().filter(cookies).when().get("/graph").then().statusCode(200).extract().asString();
+        Document doc = assertSelfHostedAssets(html);
+
+        assertNotNull(doc.selectFirst("script[src*=/d3-force/]"), "d3-force script is linked");
+    }
+
+    private static Document assertSelfHostedAssets(String html) {
+        Document doc = Jsoup.parse(html);
+
+        List<String> urls = doc.select("script[src], link[rel=stylesheet], link[rel=preload]").stream()
+            .map(e -> e.hasAttr("src") ? e.attr("src") : e.attr("href"))
+            .toList();
+        assertFalse(urls.isEmpty());
+
+        for (String url : urls) {
+            assertTrue(url.startsWith("/assets/"), () -> "not a self-hosted hashed asset: " + url);
+            given()
+            .when()
+                    .get(url)
+            .then()
+                    .statusCode(200)
+                    .header("Cache-Control", equalTo(AssetResource.IMMUTABLE));
+        }
+        return doc;
+    }
+}
@@ -0,0 +1,135 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.repository.PersonRelationshipRepository;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.service.NetworkService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The reactive graph endpoints return the same data as the blocking ORM implementation
+ * they replaced.
+ */
+@QuarkusTest
+class GraphResourceTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    PersonRelationshipRepository personRelationshipRepository;
+
+    @Inject
+    NetworkService networkService;
+
+    /** Log in through /j_security_check and return a spec carrying the auth cookie. */
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", ADMIN_EMAIL)
+                .formParam("j_password", ADMIN_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void graphData_hasEveryPersonAndDistinctLinks() {
+        JsonPath json = asAdmin()
+        .when()
+                .get("/graph/data")
+        .then()
+                .statusCode(200)
+                .extract().jsonPath();
+
+        long persons = QuarkusTransaction.requiringNew().call(() -> personRepository.count());
+        long distinctLinks = QuarkusTransaction.requiringNew().call(() ->
+                personRelationshipRepository.listAll().stream()
+                        .map(pr -> Math.min(pr.sourcePerson.id, pr.relatedPerson.id) + "-"
+                                + Math.max(pr.sourcePerson.id, pr.relatedPerson.id) + "-" + pr.relationship.id)
+                        .distinct()
+                        .count());
+
+        assertEquals(persons, json.getList("nodes").size());
+        assertEquals(distinctLinks, json.getList("links").size());
+        assertTrue(json.getList("nodes.relationshipCount", Integer.class).stream().anyMatch(c -> c > 0));
+    }
+
+    @Test
+    void network_matchesBlockingTraversal() {
+        Document page = Jsoup.parse(asAdmin()
+                .header("HX-Request", "true")
+        .when()
+                .get("/graph/network/1?depth=3")
+        .then()
+                .statusCode(200)
+                .extract().asString());
+
+        List<Integer> expectedCounts = new ArrayList<>();
+        Set<String> expectedIds = new HashSet<>();
+        QuarkusTransaction.requiringNew().run(() -> {
+            NetworkService.NetworkResult expected = networkService.buildNetwork(1L, 3);
+            expected.connectionsByDepth().forEach((depth, connections) -> {
+                if (!connections.isEmpty()) {
+                    expectedCounts.add(connections.size());
+                }
+                connections.forEach(c -> expectedIds.add("/graph/network/" + c.person().id));
+            });
+        });
+
+        List<Integer> counts = page.select("h3 .uk-badge").stream()
+                .map(badge -> Integer.parseInt(badge.text()))
+                .toList();
+        Set<String> ids = page.select("a[uk-tooltip='View Network']").stream()
+                .map(a -> a.attr("href"))
+                .collect(Collectors.toSet());
+
+        assertEquals(expectedCounts, counts);
+        assertEquals(expectedIds, ids);
+    }
+
+    @Test
+    void network_fullPageShowsFocalPerson() {
+        String html = asAdmin()
+        .when()
+                .get("/graph/network/1")
+        .then()
+                .statusCode(200)
+                .extract().asString();
+
+        assertTrue(Jsoup.parse(html).select("h1").text().contains("Karl Marx"));
+    }
+
+    @Test
+    void network_unknownPersonIsNotFound() {
+        asAdmin()
+        .when()
+                .get("/graph/network/999999")
+        .then()
+                .statusCode(404);
+    }
+}
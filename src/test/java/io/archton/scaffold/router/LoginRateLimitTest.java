@@ -0,0 +1,66 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Login attempts over the per-email or per-IP budget get 429 with Retry-After instead of
+ * reaching the identity provider.
+ */
+@QuarkusTest
+@TestProfile(LoginRateLimitTest.TightLimits.class)
+class LoginRateLimitTest {
+
+    public static class TightLimits implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "app.security.rate-limit.enabled", "true",
+                "app.security.rate-limit.ip.capacity", "5",
+                "app.security.rate-limit.ip.refill", "PT1H",
+                "app.security.rate-limit.email.capacity", "2",
+                "app.security.rate-limit.email.refill", "PT1H");
+        }
+    }
+
+    private int login(String email) {
+        return given()
+                .redirects().follow(false)
+                .formParam("j_username", email)
+                .formParam("j_password", "not-the-password")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .extract().statusCode();
+    }
+
+    @Test
+    void emailBudgetThenIpBudget() {
+        // Email budget: two attempts for one account, the third is refused
+        assertEquals(302, login("limited-a@example.com"));
+        assertEquals(302, login("limited-a@example.com"));
+        assertEquals(429, login("limited-a@example.com"));
+
+        // IP budget (5): two more accounts use it up, whatever the email
+        assertEquals(302, login("limited-b@example.com"));
+        assertEquals(302, login("limited-c@example.com"));
+
+        given()
+                .redirects().follow(false)
+                .formParam("j_username", "limited-d@example.com")
+                .formParam("j_password", "not-the-password")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(429)
+                .header("Retry-After", notNullValue());
+    }
+}
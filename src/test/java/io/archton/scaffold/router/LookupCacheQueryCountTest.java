@@ -0,0 +1,105 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.entity.Gender;
+import io.archton.scaffold.entity.Title;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the JDBC statement count of the persons page with a cold and a warm
+ * second-level cache. With Title/Gender/Relationship cached, the lazy
+ * {@code person.title}/{@code person.gender} dereferences in the templates
+ * must be served from the cache instead of issuing one select per distinct row.
+ * The network page joins titles in SQL on the reactive client instead, so it must not
+ * issue any ORM statement at all, cold cache or not.
+ */
+@QuarkusTest
+class LookupCacheQueryCountTest {
+
+    private static final Logger LOG = Logger.getLogger(LookupCacheQueryCountTest.class);
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    /** Log in through /j_security_check and return the filter carrying the auth cookie. */
+    private CookieFilter loginAsAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", ADMIN_EMAIL)
+                .formParam("j_password", ADMIN_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return cookies;
+    }
+
+    /** Issue the request once and return the number of JDBC statements it prepared. */
+    private long statementsFor(CookieFilter cookies, String path) {
+        statistics.clear();
+        given().filter(cookies).when().get(path).then().statusCode(200);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void assertWarmCacheSavesQueries(String path) {
+        CookieFilter cookies = loginAsAdmin();
+
+        // Prime everything that is not the second-level cache (e.g. the reference data snapshot).
+        given().filter(cookies).when().get(path).then().statusCode(200);
+
+        sessionFactory.getCache().evictAllRegions();
+        long cold = statementsFor(cookies, path);
+        long warm = statementsFor(cookies, path);
+
+        LOG.infof("%s: %d statements with a cold second-level cache, %d warm", path, cold, warm);
+        assertTrue(warm < cold, () -> path + " should issue fewer statements with a warm cache (cold="
+                + cold + ", warm=" + warm + ")");
+        assertEquals(0, statistics.getEntityStatistics(Title.class.getName()).getFetchCount(),
+                "titles must come from the second-level cache");
+        assertEquals(0, statistics.getEntityStatistics(Gender.class.getName()).getFetchCount(),
+                "genders must come from the second-level cache");
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void personsPage_lazyLookupsHitSecondLevelCache() {
+        assertWarmCacheSavesQueries("/persons");
+    }
+
+    @Test
+    void networkPage_issuesNoOrmStatements() {
+        CookieFilter cookies = loginAsAdmin();
+        given().filter(cookies).when().get("/graph/network/1?depth=3").then().statusCode(200);
+
+        sessionFactory.getCache().evictAllRegions();
+        long cold = statementsFor(cookies, "/graph/network/1?depth=3");
+
+        LOG.infof("/graph/network/1?depth=3: %d ORM statements with a cold second-level cache", cold);
+        assertEquals(0, cold, "the network page should read through the reactive client only");
+        assertEquals(0, statistics.getEntityStatistics(Title.class.getName()).getFetchCount(),
+                "titles are joined in SQL, not fetched lazily");
+    }
+}
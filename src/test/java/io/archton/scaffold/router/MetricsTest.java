@@ -0,0 +1,57 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Serving pages records repository, template and network meters on the Prometheus
+ * endpoint, tagged by code names rather than request data. The password hashing pool,
+ * which the login itself goes through, is exported too.
+ */
+@QuarkusTest
+class MetricsTest {
+
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void pagesRecordRepositoryTemplateAndNetworkMeters() {
+        RequestSpecification admin = asAdmin();
+        admin.when().get("/persons?filter=marx").then().statusCode(200);
+        admin.when().get("/graph/network/1?depth=2").then().statusCode(200);
+
+        given()
+        .when()
+                .get("/q/metrics")
+        .then()
+                .statusCode(200)
+                .body(allOf(
+                        containsString("repository_calls_seconds_count{"),
+                        containsString("repository=\"PersonRepository\""),
+                        containsString("template_render_seconds_count{"),
+                        containsString("network_depth_duration_seconds_count{depth=\"1\""),
+                        containsString("network_frontier_size_people_count{depth=\"1\""),
+                        containsString("password_hashing_queued_tasks"),
+                        containsString("password_hashing_completed_tasks_total"),
+                        containsString("password_hashing_rejected_tasks_total"),
+                        not(containsString("marx"))));
+    }
+}
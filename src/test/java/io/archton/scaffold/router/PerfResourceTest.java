@@ -0,0 +1,81 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.metrics.QueryMonitor;
+import io.archton.scaffold.repository.PersonRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The perf page lists Hibernate query statistics and reports a SELECT repeated within one
+ * session as a repeated load.
+ */
+@QuarkusTest
+class PerfResourceTest {
+
+    @Inject
+    QueryMonitor queryMonitor;
+
+    @Inject
+    PersonRepository personRepository;
+
+    @BeforeEach
+    void reset() {
+        queryMonitor.reset();
+    }
+
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void sameSelectInOneSession_isReportedAsRepeatedLoad() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            for (int i = 0; i < 6; i++) {
+                personRepository.findByEmail("nobody-" + i + "@perf-test.example.com");
+            }
+        });
+
+        assertTrue(queryMonitor.repeatedLoads().stream()
+                .anyMatch(load -> load.count() == 6 && load.sql().toLowerCase().contains("from person")),
+                "repeated loads: " + queryMonitor.repeatedLoads());
+    }
+
+    @Test
+    void page_showsQueryStatistics() {
+        RequestSpecification admin = asAdmin();
+        admin.when().get("/persons").then().statusCode(200);
+
+        Document page = Jsoup.parse(admin
+        .when()
+                .get("/admin/perf")
+        .then()
+                .statusCode(200)
+                .extract().asString());
+
+        assertEquals("Query Performance", page.select("h2").text());
+        assertFalse(page.select("#perf-queries tbody tr").isEmpty());
+        assertTrue(page.select("#perf-queries code").text().contains("Person"));
+    }
+}
@@ -0,0 +1,146 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.service.CsvReader;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The export must return exactly what the paged list shows for the same filter and
+ * sort, just without paging, in both formats.
+ */
+@QuarkusTest
+class PersonExportTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+
+    @Inject
+    PersonRepository personRepository;
+
+    /** Log in through /j_security_check and return a spec carrying the auth cookie. */
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", ADMIN_EMAIL)
+                .formParam("j_password", ADMIN_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    private List<String> expectedEmails(String filter, String sortField, String sortDir) {
+        return QuarkusTransaction.requiringNew().call(() ->
+                personRepository.findByFilter(filter, sortField, sortDir).stream()
+                        .map(p -> p.email)
+                        .toList());
+    }
+
+    @Test
+    void csvExport_matchesFilteredListOrder() throws IOException {
+        List<String> expected = expectedEmails("a", "email", "desc");
+        assertFalse(expected.isEmpty(), "seed data should match the filter");
+
+        String csv = asAdmin()
+                .queryParam("filter", "a")
+                .queryParam("sortField", "email")
+                .queryParam("sortDir", "desc")
+        .when()
+                .get("/persons/export")
+        .then()
+                .statusCode(200)
+                .contentType("text/csv")
+                .header("Content-Disposition", "attachment; filename=\"persons.csv\"")
+        .extract().asString();
+
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        assertEquals(List.of("firstName", "lastName", "email", "phone", "dateOfBirth", "title", "gender", "notes"),
+                reader.readRecord());
+        List<String> emails = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            assertEquals(8, record.size());
+            emails.add(record.get(2));
+        }
+        assertEquals(expected, emails);
+    }
+
+    @Test
+    void jsonExport_includesJoinedLookups() {
+        List<String> expected = expectedEmails(null, null, null);
+        Person first = QuarkusTransaction.requiringNew().call(() -> {
+            Person p = personRepository.findByEmail(expected.get(0)).orElseThrow();
+            // Touch the lazy associations while the session is open
+            if (p.title != null) {
+                p.title.description.length();
+            }
+            return p;
+        });
+
+        JsonPath json = asAdmin()
+                .queryParam("format", "json")
+        .when()
+                .get("/persons/export")
+        .then()
+                .statusCode(200)
+                .contentType("application/json")
+        .extract().jsonPath();
+
+        assertEquals(expected, json.getList("email"));
+        assertEquals(first.id.longValue(), json.getLong("[0].id"));
+        assertEquals(first.title != null ? first.title.description : null, json.getString("[0].title"));
+    }
+
+    @Test
+    void csvExport_neutralisesFormulaCells() throws IOException {
+        String email = "formula@export-test.example.com";
+        QuarkusTransaction.requiringNew().run(() -> {
+            Person p = new Person();
+            p.firstName = "=HYPERLINK(\"http://evil.example\",\"x\")";
+            p.lastName = "@SUM(A1)";
+            p.email = email;
+            p.phone = "+49-30-1818";
+            p.notes = "-2+3";
+            personRepository.persist(p);
+        });
+        try {
+            String csv = asAdmin()
+                    .queryParam("filter", "formula@export-test")
+            .when()
+                    .get("/persons/export")
+            .then()
+                    .statusCode(200)
+            .extract().asString();
+
+            CsvReader reader = new CsvReader(new StringReader(csv));
+            reader.readRecord();
+            List<String> record = reader.readRecord();
+            assertEquals("'=HYPERLINK(\"http://evil.example\",\"x\")", record.get(0));
+            assertEquals("'@SUM(A1)", record.get(1));
+            assertEquals(email, record.get(2));
+            assertEquals("'+49-30-1818", record.get(3));
+            assertEquals("'-2+3", record.get(7));
+        } finally {
+            QuarkusTransaction.requiringNew().run(() -> personRepository.delete("email", email));
+        }
+    }
+}
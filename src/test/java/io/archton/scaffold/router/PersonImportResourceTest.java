@@ -0,0 +1,146 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.service.ReferenceDataCache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the CSV import end to end: upload, poll the HTMX status fragment until the
+ * job finishes, then check what was inserted and which rows were rejected.
+ */
+@QuarkusTest
+class PersonImportResourceTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+    private static final String EMAIL_DOMAIN = "@import-test.example.com";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() ->
+                personRepository.delete("email LIKE ?1", "%" + EMAIL_DOMAIN));
+    }
+
+    /** Log in through /j_security_check and return a spec carrying the auth cookie. */
+    private RequestSpecification asAdmin(CookieFilter cookies) {
+        return login(cookies, ADMIN_EMAIL, ADMIN_PASSWORD);
+    }
+
+    private RequestSpecification login(CookieFilter cookies, String email, String password) {
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", email)
+                .formParam("j_password", password)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void import_insertsValidRowsAndReportsRejectedOnes() throws InterruptedException {
+        // A cold snapshot must load on the request thread, not in the import worker
+        referenceDataCache.invalidate();
+        String existingEmail = QuarkusTransaction.requiringNew().call(() ->
+                personRepository.findAll().firstResult().email);
+        String csv = String.join("\r\n",
+                "first_name,last_name,email,phone,date_of_birth,title,gender,notes",
+                "Ada,Lovelace,ada" + EMAIL_DOMAIN + ",,1815-12-10,,,\"Notes, with a comma\"",
+                "Alan,Turing,ALAN" + EMAIL_DOMAIN + ",555-0100,,,,",
+                "No,Email,,,,,,",
+                "Dup,Row,ada" + EMAIL_DOMAIN + ",,,,,",
+                "Bad,Date,bad-date" + EMAIL_DOMAIN + ",,10/12/1815,,,",
+                "Bad,Title,bad-title" + EMAIL_DOMAIN + ",,,NOPE,,",
+                "Already,There," + existingEmail + ",,,,,");
+
+        CookieFilter cookies = new CookieFilter();
+        String html = asAdmin(cookies)
+                .multiPart("file", "people.csv", csv.getBytes(StandardCharsets.UTF_8), "text/csv")
+        .when()
+                .post("/persons/import")
+        .then()
+                .statusCode(200)
+        .extract().asString();
+
+        Element status = Jsoup.parseBodyFragment(html).getElementById("person-import-status");
+        assertNotNull(status, () -> "expected the status fragment, got: " + html);
+
+        // Poll like the browser does until the fragment stops asking to be polled
+        for (int i = 0; i < 50 && status.hasAttr("hx-get"); i++) {
+            Thread.sleep(200);
+            String next = given().filter(cookies)
+            .when()
+                    .get(status.attr("hx-get"))
+            .then()
+                    .statusCode(200)
+            .extract().asString();
+            status = Jsoup.parseBodyFragment(next).getElementById("person-import-status");
+        }
+        Document done = Jsoup.parseBodyFragment(status.outerHtml());
+        assertTrue(!status.hasAttr("hx-get"), "import should finish");
+        String text = done.text();
+        assertTrue(text.contains("Imported 2"), () -> "unexpected status: " + text);
+        assertTrue(text.contains("Rejected 5"), () -> "unexpected status: " + text);
+        assertTrue(text.contains("Email is required."));
+        assertTrue(text.contains("Duplicate email in file."));
+        assertTrue(text.contains("Invalid date of birth"));
+        assertTrue(text.contains("Unknown title: NOPE"));
+        assertTrue(text.contains("Email already registered."));
+
+        Person ada = QuarkusTransaction.requiringNew().call(() ->
+                personRepository.findByEmail("ada" + EMAIL_DOMAIN).orElseThrow());
+        assertEquals("Notes, with a comma", ada.notes);
+        assertEquals(ADMIN_EMAIL, ada.createdBy);
+        assertTrue(QuarkusTransaction.requiringNew().call(() ->
+                personRepository.findByEmail("alan" + EMAIL_DOMAIN).isPresent()),
+                "emails are stored lower-case like the single-row create");
+    }
+
+    @Test
+    void status_ofAnotherUsersImport_isNotFound() {
+        String csv = "first_name,last_name,email\r\nGrace,Hopper,grace" + EMAIL_DOMAIN + "\r\n";
+        String html = asAdmin(new CookieFilter())
+                .multiPart("file", "people.csv", csv.getBytes(StandardCharsets.UTF_8), "text/csv")
+        .when()
+                .post("/persons/import")
+        .then()
+                .statusCode(200)
+        .extract().asString();
+        String statusUrl = Jsoup.parseBodyFragment(html).getElementById("person-import-status").attr("hx-get");
+
+        String other = login(new CookieFilter(), "user@example.com", "MyUserPassword")
+        .when()
+                .get(statusUrl)
+        .then()
+                .statusCode(200)
+        .extract().asString();
+        assertTrue(other.contains("Import not found or expired."), () -> "unexpected response: " + other);
+    }
+}
@@ -0,0 +1,154 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.repository.PersonRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Person create answers with a single out-of-band row instead of re-rendering the
+ * table when the new person goes at the top of the page being shown, reloads that page
+ * when it goes anywhere else, and reports a duplicate email (any case) back in the
+ * create modal.
+ */
+@QuarkusTest
+class PersonResourceTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+    private static final String TEST_EMAIL = "oob-create@person-test.example.com";
+    /** Last names that sort before and after every seeded person. */
+    private static final String FIRST_IN_ORDER = "Aaaoob";
+    private static final String LAST_IN_ORDER = "Zzzoob";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @BeforeEach
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() -> personRepository.delete("email", TEST_EMAIL));
+    }
+
+    /** Log in through /j_security_check and return a spec carrying the auth cookie. */
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", ADMIN_EMAIL)
+                .formParam("j_password", ADMIN_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    private String create(RequestSpecification spec, String lastName, String email) {
+        return spec
+                .formParam("firstName", "Oob")
+                .formParam("lastName", lastName)
+                .formParam("email", email)
+        .when()
+                .post("/persons")
+        .then()
+                .statusCode(200)
+        .extract().asString();
+    }
+
+    @Test
+    void create_returnsSingleOobRow() {
+        String html = create(asAdmin(), FIRST_IN_ORDER, TEST_EMAIL);
+
+        Person created = QuarkusTransaction.requiringNew().call(() ->
+                personRepository.findByEmail(TEST_EMAIL).orElseThrow());
+
+        // <template> content is parsed as inert markup; parse it as a table fragment
+        Document doc = Jsoup.parse(html);
+        Element template = doc.selectFirst("template");
+        assertNotNull(template, () -> "expected an OOB template, got: " + html);
+        Document oob = Jsoup.parse("<table>" + template.html() + "</table>");
+        Element tbody = oob.selectFirst("tbody[hx-swap-oob]");
+        assertNotNull(tbody);
+        assertEquals("afterbegin:#person-table-body", tbody.attr("hx-swap-oob"));
+        assertEquals(1, tbody.select("tr").size());
+        assertNotNull(tbody.getElementById("person-row-" + created.id));
+        assertNull(doc.getElementById("person-table-container"), "the table must not be re-rendered");
+    }
+
+    @Test
+    void create_onLaterPage_reloadsThatPageInsteadOfInserting() {
+        String html = create(asAdmin()
+                .formParam("viewPage", "2")
+                .formParam("size", "10")
+                .formParam("sortField", "email"), FIRST_IN_ORDER, TEST_EMAIL);
+
+        Document doc = Jsoup.parse(html);
+        assertNull(doc.selectFirst("template"), () -> "no OOB row expected off the first page, got: " + html);
+        String onLoad = doc.selectFirst("div[hx-on::load]").attr("hx-on::load");
+        assertTrue(onLoad.contains("'/persons?page=2&size=10&sortField=email'"),
+                () -> "expected a reload of the current page, got: " + onLoad);
+    }
+
+    @Test
+    void create_onFirstPage_notSortingFirst_reloadsInsteadOfInserting() {
+        String html = create(asAdmin(), LAST_IN_ORDER, TEST_EMAIL);
+
+        Document doc = Jsoup.parse(html);
+        assertNull(doc.selectFirst("template"), () -> "no OOB row expected below the top row, got: " + html);
+        String onLoad = doc.selectFirst("div[hx-on::load]").attr("hx-on::load");
+        assertTrue(onLoad.contains("'/persons?page=0&size=25'"), () -> "expected a reload of page 0, got: " + onLoad);
+    }
+
+    @Test
+    void create_sortingFirstDescending_insertsRow() {
+        String html = create(asAdmin()
+                .formParam("sortField", "lastName")
+                .formParam("sortDir", "desc"), LAST_IN_ORDER, TEST_EMAIL);
+
+        assertNotNull(Jsoup.parse(html).selectFirst("template"), () -> "expected an OOB template, got: " + html);
+    }
+
+    @Test
+    void create_notMatchingFilter_reloadsInsteadOfInserting() {
+        String html = create(asAdmin().formParam("filter", "no such name"), FIRST_IN_ORDER, TEST_EMAIL);
+
+        Document doc = Jsoup.parse(html);
+        assertNull(doc.selectFirst("template"), () -> "no OOB row expected for a filtered-out person, got: " + html);
+        String onLoad = doc.selectFirst("div[hx-on::load]").attr("hx-on::load");
+        assertTrue(onLoad.contains("filter=no+such+name"), () -> "expected the filter kept, got: " + onLoad);
+    }
+
+    @Test
+    void create_matchingFilter_insertsRow() {
+        String html = create(asAdmin().formParam("filter", "OOB"), LAST_IN_ORDER, TEST_EMAIL);
+
+        assertNotNull(Jsoup.parse(html).selectFirst("template"), () -> "expected an OOB template, got: " + html);
+    }
+
+    @Test
+    void create_reportsDuplicateEmailIgnoringCase() {
+        RequestSpecification admin = asAdmin();
+        create(admin, FIRST_IN_ORDER, TEST_EMAIL);
+
+        String html = create(asAdmin(), FIRST_IN_ORDER, TEST_EMAIL.toUpperCase());
+        assertTrue(Jsoup.parse(html).text().contains("Email already registered."),
+                () -> "expected the duplicate email error, got: " + html);
+    }
+}
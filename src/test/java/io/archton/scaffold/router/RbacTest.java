@@ -78,6 +78,15 @@ class RbacTest {
                 .statusCode(403);
     }
 
+    @Test
+    void regularUser_forbiddenOnPerfPage() {
+        asUser()
+        .when()
+                .get("/admin/perf")
+        .then()
+                .statusCode(403);
+    }
+
     @Test
     void regularUser_forbiddenOnTitles() {
         asUser()
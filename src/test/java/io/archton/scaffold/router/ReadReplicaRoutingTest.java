@@ -0,0 +1,159 @@
+package io.archton.scaffold.router;
+
+import io.agroal.api.AgroalDataSource;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.replica.ReplicaRouting;
+import io.archton.scaffold.service.ReferenceDataCache;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replica routing with the "replica" datasource pointed at the dev-services database.
+ * That database is not a standby, so the read-your-writes check always falls back to the
+ * primary; both paths must serve the same pages. Since both datasources reach the same
+ * rows, the replica is told apart by its pool: the replica pool's acquire count and its
+ * connections' application_name in pg_stat_activity.
+ */
+@QuarkusTest
+@TestProfile(ReadReplicaRoutingTest.ReplicaActive.class)
+class ReadReplicaRoutingTest {
+
+    public static class ReplicaActive implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "quarkus.hibernate-orm.multitenant", "DATABASE",
+                "quarkus.datasource.replica.jdbc.enable-metrics", "true",
+                "quarkus.datasource.replica.active", "true",
+                "quarkus.datasource.replica.jdbc.url", "${quarkus.datasource.jdbc.url}",
+                "quarkus.datasource.replica.reactive.url", "${quarkus.datasource.reactive.url}",
+                "quarkus.datasource.replica.username", "${quarkus.datasource.username}",
+                "quarkus.datasource.replica.password", "${quarkus.datasource.password}");
+        }
+    }
+
+    private static final String TEST_EMAIL = "replica-write@replica-test.example.com";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    @DataSource(ReplicaRouting.REPLICA)
+    AgroalDataSource replica;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() -> personRepository.delete("email", TEST_EMAIL));
+    }
+
+    private CookieFilter loginAsAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return cookies;
+    }
+
+    @Test
+    void readsWithoutRecentWrite_areServedFromReplica() {
+        CookieFilter cookies = loginAsAdmin();
+
+        given().filter(cookies).when().get("/persons").then()
+                .statusCode(200)
+                .body(containsString("Marx"));
+        given().filter(cookies).when().get("/graph/data").then()
+                .statusCode(200);
+        given().filter(cookies).header("HX-Request", "true").when().get("/graph/network/1?depth=2").then()
+                .statusCode(200);
+    }
+
+    @Test
+    void routedRead_usesReplicaPool_andLeavesCachesAlone() {
+        CookieFilter cookies = loginAsAdmin();
+        // Loaded on the primary, outside the counted request
+        referenceDataCache.snapshot();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+        long acquired = replica.getMetrics().acquireCount();
+
+        given().filter(cookies).when().get("/persons").then()
+                .statusCode(200)
+                .body(containsString("Marx"));
+
+        assertTrue(replica.getMetrics().acquireCount() > acquired, "the person list must read from the replica pool");
+        assertEquals(0, statistics.getSecondLevelCachePutCount(), "a replica session must not fill the second-level cache");
+        assertEquals(0, statistics.getQueryCachePutCount(), "a replica session must not fill the query cache");
+
+        long replicaConnections = QuarkusTransaction.requiringNew().call(() -> ((Number) personRepository.getEntityManager()
+                .createNativeQuery("SELECT count(*) FROM pg_stat_activity "
+                        + "WHERE application_name = 'hx-qute-replica' AND datname = current_database()")
+                .getSingleResult()).longValue());
+        assertTrue(replicaConnections > 0, "the replica pool connects as hx-qute-replica");
+    }
+
+    @Test
+    void write_setsLsnCookie_andNextReadSeesIt() {
+        CookieFilter cookies = loginAsAdmin();
+
+        Response created = given()
+                .filter(cookies)
+                .formParam("firstName", "Replica")
+                .formParam("lastName", "Write")
+                .formParam("email", TEST_EMAIL)
+        .when()
+                .post("/persons");
+        created.then().statusCode(200);
+
+        String lsn = created.getCookie(ReplicaRouting.LSN_COOKIE);
+        assertNotNull(lsn, "a write must hand out the commit LSN");
+        assertTrue(lsn.matches("[0-9A-F]+/[0-9A-F]+"), () -> "not an LSN: " + lsn);
+
+        given().filter(cookies).queryParam("filter", "Replica").when().get("/persons").then()
+                .statusCode(200)
+                .body(containsString(TEST_EMAIL));
+    }
+
+    @Test
+    void malformedLsnCookie_isIgnored() {
+        CookieFilter cookies = loginAsAdmin();
+
+        given().filter(cookies).cookie(ReplicaRouting.LSN_COOKIE, "'; DROP TABLE person; --")
+        .when()
+                .get("/persons")
+        .then()
+                .statusCode(200);
+    }
+}
@@ -0,0 +1,141 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.entity.Person;
+import io.archton.scaffold.entity.Relationship;
+import io.archton.scaffold.repository.PersonRelationshipRepository;
+import io.archton.scaffold.repository.PersonRepository;
+import io.archton.scaffold.repository.RelationshipRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bulk edge ingest: new edges are inserted, re-sent edges are counted as duplicates
+ * (ON CONFLICT DO NOTHING), and bad rows are reported without failing the batch.
+ */
+@QuarkusTest
+class RelationshipImportResourceTest {
+
+    private static final String ADMIN_EMAIL = "admin@example.com";
+    private static final String ADMIN_PASSWORD = "MyAdminPassword";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @Inject
+    PersonRelationshipRepository personRelationshipRepository;
+
+    @Inject
+    RelationshipRepository relationshipRepository;
+
+    private Person source;
+    private Person related;
+    private Relationship type;
+
+    /** Pick a source/related/type triple that the seed data does not already contain. */
+    @BeforeEach
+    void pickUnusedEdge() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            List<Person> persons = personRepository.listAllOrdered();
+            type = relationshipRepository.find("code", "RIVAL").firstResult();
+            for (Person a : persons) {
+                for (Person b : persons) {
+                    if (!a.id.equals(b.id) && !personRelationshipRepository.exists(a.id, b.id, type.id)
+                            && !personRelationshipRepository.exists(b.id, a.id, type.id)) {
+                        source = a;
+                        related = b;
+                        return;
+                    }
+                }
+            }
+            throw new AssertionError("seed data should leave at least one unused edge");
+        });
+    }
+
+    @AfterEach
+    void removeTestEdges() {
+        QuarkusTransaction.requiringNew().run(() -> personRelationshipRepository.delete(
+                "relationship.id = ?1 AND ((sourcePerson.id = ?2 AND relatedPerson.id = ?3)"
+                        + " OR (sourcePerson.id = ?3 AND relatedPerson.id = ?2))",
+                type.id, source.id, related.id));
+    }
+
+    /** Log in through /j_security_check and return a spec carrying the auth cookie. */
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", ADMIN_EMAIL)
+                .formParam("j_password", ADMIN_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void csvImport_insertsNewEdgesAndReportsDuplicatesAndErrors() {
+        String csv = String.join("\n",
+                "source_email,related_email,relationship_code",
+                source.email + "," + related.email + ",rival",
+                related.email.toUpperCase() + "," + source.email + ",RIVAL",
+                source.email + "," + related.email + ",RIVAL",
+                source.email + ",nobody@example.invalid,RIVAL",
+                source.email + "," + related.email + ",NOPE",
+                source.email + "," + source.email + ",RIVAL");
+
+        asAdmin()
+                .contentType("text/csv")
+                .body(csv)
+        .when()
+                .post("/persons/relationships/import")
+        .then()
+                .statusCode(200)
+                .body("received", equalTo(6))
+                .body("inserted", equalTo(2))
+                .body("duplicates", equalTo(1))
+                .body("rejected", equalTo(3))
+                .body("errors.message", hasItem("Unknown person: nobody@example.invalid"))
+                .body("errors.message", hasItem("Unknown relationship code."))
+                .body("errors.message", hasItem("A person cannot be related to themselves."));
+
+        assertTrue(QuarkusTransaction.requiringNew().call(() ->
+                personRelationshipRepository.exists(source.id, related.id, type.id)
+                        && personRelationshipRepository.exists(related.id, source.id, type.id)));
+    }
+
+    @Test
+    void jsonImport_isIdempotent() {
+        String json = "[{\"sourceEmail\":\"" + source.email + "\",\"relatedEmail\":\"" + related.email
+                + "\",\"relationshipCode\":\"RIVAL\",\"note\":{\"ignored\":true}}]";
+
+        asAdmin().contentType("application/json").body(json)
+        .when().post("/persons/relationships/import")
+        .then().statusCode(200).body("inserted", equalTo(1)).body("duplicates", equalTo(0));
+
+        asAdmin().contentType("application/json").body(json)
+        .when().post("/persons/relationships/import")
+        .then().statusCode(200).body("inserted", equalTo(0)).body("duplicates", equalTo(1));
+    }
+
+    @Test
+    void malformedJson_isBadRequest() {
+        asAdmin().contentType("application/json").body("{\"not\":\"an array\"}")
+        .when().post("/persons/relationships/import")
+        .then().statusCode(400);
+    }
+}
@@ -0,0 +1,64 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Router responses carry a Server-Timing breakdown (sampling is 100% in the test profile)
+ * that counts the page's SQL statements; other responses do not.
+ */
+@QuarkusTest
+class ServerTimingTest {
+
+    private static final Pattern HEADER = Pattern.compile(
+        "auth;dur=[\\d.]+, db;dur=[\\d.]+;desc=\"(\\d+) statements\", render;dur=([\\d.]+), total;dur=[\\d.]+");
+
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void routerPage_hasDbAndRenderTiming() {
+        String header = asAdmin()
+                .header("HX-Request", "true")
+        .when()
+                .get("/persons/1")
+        .then()
+                .statusCode(200)
+                .extract().header("Server-Timing");
+
+        Matcher matcher = HEADER.matcher(header == null ? "" : header);
+        assertTrue(matcher.matches(), "Server-Timing was " + header);
+        assertTrue(Integer.parseInt(matcher.group(1)) > 0, "expected at least one statement: " + header);
+        assertTrue(Double.parseDouble(matcher.group(2)) > 0, "expected render time: " + header);
+    }
+
+    @Test
+    void nonRouterResponse_hasNoTiming() {
+        given()
+        .when()
+                .get("/q/health/live")
+        .then()
+                .statusCode(200)
+                .header("Server-Timing", nullValue());
+    }
+}
@@ -0,0 +1,114 @@
+package io.archton.scaffold.router;
+
+import io.quarkus.qute.Engine;
+import io.quarkus.qute.ReflectionValueResolver;
+import io.quarkus.qute.Template;
+import io.quarkus.qute.TemplateInstance;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming must produce byte-for-byte the same page as {@code render()} and allocate
+ * less than building the page as one String. Logs time-to-first-byte and allocated
+ * bytes for both paths.
+ */
+class StreamingTemplateTest {
+
+    private static final Logger LOG = Logger.getLogger(StreamingTemplateTest.class);
+    private static final int ROWS = 20_000;
+
+    public record Row(long id, String name, String email) {}
+
+    private final Template template = Engine.builder().addDefaults()
+        .addValueResolver(new ReflectionValueResolver()).build().parse("""
+        <html><head><title>{title}</title></head><body>
+        <table><tbody>
+        {#for r in rows}
+        <tr id="row-{r.id}"><td>{r.name}</td><td>{r.email}</td></tr>
+        {/for}
+        </tbody></table>
+        </body></html>
+        """);
+
+    private final List<Row> rows = IntStream.range(0, ROWS)
+        .mapToObj(i -> new Row(i, "Person & Co " + i, "person" + i + "@example.com"))
+        .toList();
+
+    private TemplateInstance instance() {
+        return template.data("title", "Streaming <test>").data("rows", rows);
+    }
+
+    /** Counts bytes and records when the first one arrived. */
+    private static final class Sink extends OutputStream {
+        long firstByteNanos;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0 && len > 0) {
+                firstByteNanos = System.nanoTime();
+            }
+            bytes += len;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getCurrentThreadAllocatedBytes();
+    }
+
+    @Test
+    void stream_matchesRender() throws IOException {
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        StreamingTemplate.of(instance()).write(streamed);
+
+        assertEquals(instance().render(), streamed.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stream_allocatesLessThanRender() throws IOException {
+        // Warm up both paths
+        for (int i = 0; i < 5; i++) {
+            instance().render();
+            StreamingTemplate.of(instance()).write(new Sink());
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        String page = instance().render();
+        // A rendered String can only be written once it is complete
+        long renderFirstByte = System.nanoTime() - start;
+        long renderAllocated = allocatedBytes() - allocated;
+
+        Sink sink = new Sink();
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        StreamingTemplate.of(instance()).write(sink);
+        long streamTotal = System.nanoTime() - start;
+        long streamFirstByte = sink.firstByteNanos - start;
+        long streamAllocated = allocatedBytes() - allocated;
+
+        LOG.infof("%d rows, %d bytes: render TTFB %d µs / %d KiB allocated; stream TTFB %d µs (total %d µs) / %d KiB allocated",
+            ROWS, sink.bytes, renderFirstByte / 1_000, renderAllocated / 1024,
+            streamFirstByte / 1_000, streamTotal / 1_000, streamAllocated / 1024);
+
+        assertEquals(page.getBytes(StandardCharsets.UTF_8).length, sink.bytes);
+        assertTrue(streamAllocated < renderAllocated, "streaming should not build the page in memory");
+    }
+}
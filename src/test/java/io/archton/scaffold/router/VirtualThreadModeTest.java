@@ -0,0 +1,80 @@
+package io.archton.scaffold.router;
+
+import io.archton.scaffold.repository.PersonRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+
+/**
+ * With {@code quarkus.virtual-threads.enabled=true} the @RunOnVirtualThread resources
+ * must behave as on the worker pool: security, Hibernate reads, a JTA write and
+ * streamed template rendering all work on a virtual thread.
+ */
+@QuarkusTest
+@TestProfile(VirtualThreadModeTest.VirtualThreads.class)
+class VirtualThreadModeTest {
+
+    public static class VirtualThreads implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.virtual-threads.enabled", "true");
+        }
+    }
+
+    private static final String TEST_EMAIL = "vt-mode@vt-test.example.com";
+
+    @Inject
+    PersonRepository personRepository;
+
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() -> personRepository.delete("email", TEST_EMAIL));
+    }
+
+    private RequestSpecification asAdmin() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", "admin@example.com")
+                .formParam("j_password", "MyAdminPassword")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return given().filter(cookies);
+    }
+
+    @Test
+    void listAndCreate_workOnVirtualThreads() {
+        RequestSpecification admin = asAdmin();
+
+        admin
+        .when()
+                .get("/persons")
+        .then()
+                .statusCode(200)
+                .body(containsString("person-table-container"));
+
+        admin
+                .formParam("firstName", "Virtual")
+                .formParam("lastName", "Thread")
+                .formParam("email", TEST_EMAIL)
+        .when()
+                .post("/persons")
+        .then()
+                .statusCode(200)
+                .body(containsString("Virtual"));
+    }
+}
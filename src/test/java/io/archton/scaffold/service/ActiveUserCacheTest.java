@@ -0,0 +1,153 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.UserLogin;
+import io.archton.scaffold.repository.UserLoginRepository;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.filter.cookie.CookieFilter;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A deactivated account loses access on its next request although the active flag is
+ * cached: immediately when deactivated through the service, and via the user_login
+ * trigger's notification when the row is changed directly in the database.
+ */
+@QuarkusTest
+class ActiveUserCacheTest {
+
+    private static final String TEST_EMAIL = "active-cache@example.com";
+    private static final String TEST_PASSWORD = "ActiveCacheTestPassword";
+
+    @Inject
+    UserLoginRepository userLoginRepository;
+
+    @Inject
+    UserLoginService userLoginService;
+
+    @Inject
+    ActiveUserCache activeUserCache;
+
+    @BeforeEach
+    void createUser() {
+        removeUser();
+        QuarkusTransaction.requiringNew().run(() -> {
+            UserLogin user = new UserLogin();
+            user.email = TEST_EMAIL;
+            user.password = BcryptUtil.bcryptHash(TEST_PASSWORD, 12);
+            user.role = "user";
+            userLoginRepository.persist(user);
+        });
+    }
+
+    @AfterEach
+    void removeUser() {
+        QuarkusTransaction.requiringNew().run(() -> userLoginRepository.delete("email", TEST_EMAIL));
+    }
+
+    private CookieFilter login() {
+        CookieFilter cookies = new CookieFilter();
+        given()
+                .filter(cookies)
+                .redirects().follow(false)
+                .formParam("j_username", TEST_EMAIL)
+                .formParam("j_password", TEST_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302);
+        return cookies;
+    }
+
+    private int personsStatus(CookieFilter cookies) {
+        return given().filter(cookies).redirects().follow(false).when().get("/persons").statusCode();
+    }
+
+    @Test
+    void deactivateThroughService_takesEffectOnNextRequest() {
+        CookieFilter cookies = login();
+        assertEquals(200, personsStatus(cookies));
+        assertEquals(Boolean.TRUE, activeUserCache.get(TEST_EMAIL));
+
+        assertTrue(userLoginService.setActive(TEST_EMAIL, false));
+
+        assertTrue(personsStatus(cookies) != 200, "a deactivated user must not be served");
+    }
+
+    @Test
+    void deactivateInDatabase_isEvictedByNotification() throws InterruptedException {
+        CookieFilter cookies = login();
+        assertEquals(200, personsStatus(cookies));
+
+        QuarkusTransaction.requiringNew().run(() ->
+                userLoginRepository.update("active = false where email = ?1", TEST_EMAIL));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (activeUserCache.get(TEST_EMAIL) != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertNull(activeUserCache.get(TEST_EMAIL), "the trigger notification must evict the entry");
+        assertTrue(personsStatus(cookies) != 200);
+    }
+
+    @Test
+    void put_whenFull_evictsOneEntryNotAll() {
+        ActiveUserCache cache = new ActiveUserCache();
+        cache.ttl = Duration.ofMinutes(1);
+        cache.maxEntries = 3;
+        cache.put("first@example.com", true, cache.version());
+        cache.put("second@example.com", true, cache.version());
+        cache.put("third@example.com", false, cache.version());
+
+        cache.put("fourth@example.com", true, cache.version());
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("first@example.com"), "the oldest entry makes room");
+        assertEquals(Boolean.TRUE, cache.get("second@example.com"));
+        assertEquals(Boolean.FALSE, cache.get("third@example.com"));
+        assertEquals(Boolean.TRUE, cache.get("fourth@example.com"));
+
+        // Refreshing a cached user needs no room
+        cache.put("second@example.com", false, cache.version());
+        assertEquals(3, cache.size());
+        assertEquals(Boolean.TRUE, cache.get("fourth@example.com"));
+    }
+
+    @Test
+    void put_whenFull_dropsExpiredEntriesFirst() throws InterruptedException {
+        ActiveUserCache cache = new ActiveUserCache();
+        cache.maxEntries = 2;
+        cache.ttl = Duration.ofMillis(1);
+        cache.put("expired@example.com", true, cache.version());
+        Thread.sleep(5);
+        cache.ttl = Duration.ofMinutes(1);
+        cache.put("live@example.com", true, cache.version());
+
+        cache.put("new@example.com", true, cache.version());
+
+        assertEquals(2, cache.size());
+        assertEquals(Boolean.TRUE, cache.get("live@example.com"));
+        assertEquals(Boolean.TRUE, cache.get("new@example.com"));
+    }
+
+    @Test
+    void put_isDiscardedIfInvalidatedWhileLoading() {
+        long version = activeUserCache.version();
+        activeUserCache.invalidate(TEST_EMAIL);
+        activeUserCache.put(TEST_EMAIL, true, version);
+
+        assertNull(activeUserCache.get(TEST_EMAIL));
+        assertFalse(userLoginService.setActive("no-such-user@example.com", false));
+    }
+}
@@ -0,0 +1,35 @@
+package io.archton.scaffold.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_handlesQuotesLineBreaksAndBlankLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\n\n,,\nlast"));
+
+        assertEquals(List.of("a", "b", "c"), csv.readRecord());
+        assertEquals(1, csv.recordLine());
+        assertEquals(List.of("x, y", "say \"hi\"", "two\nlines"), csv.readRecord());
+        assertEquals(2, csv.recordLine());
+        assertEquals(List.of("", "", ""), csv.readRecord());
+        assertEquals(5, csv.recordLine());
+        assertEquals(List.of("last"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void readRecord_rejectsUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("a,\"open"));
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,77 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.service.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The hashing pool refuses work beyond its threads and queue instead of growing, and
+ * detects hashes made at another cost.
+ */
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        hasher = new PasswordHasher();
+        hasher.cost = 4;
+        hasher.threads = Optional.of(1);
+        hasher.queueSize = 1;
+        hasher.retryAfter = Duration.ofSeconds(3);
+        hasher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.stop(null);
+    }
+
+    private CompletableFuture<Boolean> blockingTask() {
+        return hasher.submit(() -> {
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+    }
+
+    @Test
+    void submit_rejectsWhenThreadsAndQueueAreFull() {
+        CompletableFuture<Boolean> running = blockingTask();
+        CompletableFuture<Boolean> queued = blockingTask();
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, this::blockingTask);
+        assertEquals(Duration.ofSeconds(3), e.getRetryAfter());
+        assertEquals(1, hasher.stats().rejected());
+        assertEquals(1, hasher.stats().queued());
+
+        release.countDown();
+        assertTrue(running.join());
+        assertTrue(queued.join());
+    }
+
+    @Test
+    void needsRehash_comparesCost() {
+        assertFalse(hasher.needsRehash("$2a$04$abcdefghijklmnopqrstuu5PBhKPXUNc9y1p0UOGKbrQD9q0RhHKa"));
+        assertTrue(hasher.needsRehash("$2a$12$abcdefghijklmnopqrstuu5PBhKPXUNc9y1p0UOGKbrQD9q0RhHKa"));
+        assertTrue(hasher.needsRehash("plain"));
+        assertEquals(-1, PasswordHasher.costOf(null));
+    }
+}
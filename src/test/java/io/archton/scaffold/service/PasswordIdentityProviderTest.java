@@ -0,0 +1,83 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.UserLogin;
+import io.archton.scaffold.repository.UserLoginRepository;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Form login verifies on the hashing pool and upgrades a hash made at an older cost.
+ */
+@QuarkusTest
+class PasswordIdentityProviderTest {
+
+    private static final String TEST_EMAIL = "rehash-test@example.com";
+    private static final String TEST_PASSWORD = "RehashTestPassword";
+
+    @Inject
+    UserLoginRepository userLoginRepository;
+
+    @BeforeEach
+    void createUserWithCheapHash() {
+        removeUser();
+        QuarkusTransaction.requiringNew().run(() -> {
+            UserLogin user = new UserLogin();
+            user.email = TEST_EMAIL;
+            user.password = BcryptUtil.bcryptHash(TEST_PASSWORD, 4);
+            user.role = "user";
+            userLoginRepository.persist(user);
+        });
+    }
+
+    @AfterEach
+    void removeUser() {
+        QuarkusTransaction.requiringNew().run(() -> userLoginRepository.delete("email", TEST_EMAIL));
+    }
+
+    private String storedHash() {
+        return QuarkusTransaction.requiringNew().call(() ->
+                userLoginRepository.findByEmail(TEST_EMAIL).orElseThrow().password);
+    }
+
+    @Test
+    void login_rehashesAtConfiguredCost() throws InterruptedException {
+        given()
+                .redirects().follow(false)
+                .formParam("j_username", TEST_EMAIL)
+                .formParam("j_password", TEST_PASSWORD)
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302)
+                .header("Location", not(containsString("error")));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!storedHash().startsWith("$2a$12$") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(storedHash().startsWith("$2a$12$"), "hash should be upgraded to cost 12");
+    }
+
+    @Test
+    void login_rejectsWrongPassword() {
+        given()
+                .redirects().follow(false)
+                .formParam("j_username", TEST_EMAIL)
+                .formParam("j_password", "not-the-password")
+        .when()
+                .post("/j_security_check")
+        .then()
+                .statusCode(302)
+                .header("Location", containsString("error"));
+    }
+}
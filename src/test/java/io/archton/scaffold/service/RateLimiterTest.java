@@ -0,0 +1,73 @@
+package io.archton.scaffold.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Buckets allow a burst up to capacity, refill over time, are independent per key and
+ * never hold more than the configured number of keys.
+ */
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private RateLimiter limiter(int capacity, Duration refill, int maxKeys) {
+        return new RateLimiter(capacity, refill, maxKeys, now::get);
+    }
+
+    @Test
+    void burstUpToCapacity_thenRejectedWithWait() {
+        RateLimiter limiter = limiter(3, Duration.ofSeconds(10), 1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("10.0.0.1"));
+        }
+        long wait = limiter.acquire("10.0.0.1");
+        assertTrue(wait > 0 && wait <= Duration.ofSeconds(10).toNanos(), "wait was " + wait);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = limiter(2, Duration.ofSeconds(10), 1000);
+        limiter.acquire("a");
+        limiter.acquire("a");
+        assertTrue(limiter.acquire("a") > 0);
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(Duration.ofSeconds(5).toNanos(), limiter.acquire("a"));
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(0, limiter.acquire("a"));
+        assertTrue(limiter.acquire("a") > 0);
+
+        // A long pause refills to capacity, not beyond
+        now.addAndGet(Duration.ofHours(1).toNanos());
+        assertEquals(0, limiter.acquire("a"));
+        assertEquals(0, limiter.acquire("a"));
+        assertTrue(limiter.acquire("a") > 0);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        RateLimiter limiter = limiter(1, Duration.ofMinutes(1), 1000);
+
+        assertEquals(0, limiter.acquire("alice@example.com"));
+        assertTrue(limiter.acquire("alice@example.com") > 0);
+        assertEquals(0, limiter.acquire("bob@example.com"));
+    }
+
+    @Test
+    void memoryIsBounded() {
+        RateLimiter limiter = limiter(5, Duration.ofSeconds(1), 6400);
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.acquire("key-" + i);
+        }
+        assertTrue(limiter.size() <= 6400, "size was " + limiter.size());
+    }
+}
@@ -0,0 +1,97 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Title;
+import io.archton.scaffold.repository.TitleRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The reference data cache must serve the same data as the repositories, reuse one
+ * snapshot between writes, and only pick up a lookup-table write once it commits.
+ */
+@QuarkusTest
+class ReferenceDataCacheTest {
+
+    private static final String TEST_CODE = "ZY";
+    private static final String TEST_DESCRIPTION = "Cache Test Title";
+
+    @Inject
+    ReferenceDataCache referenceDataCache;
+
+    @Inject
+    TitleRepository titleRepository;
+
+    @BeforeEach
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            titleRepository.delete("code", TEST_CODE);
+            referenceDataCache.invalidate();
+        });
+    }
+
+    @Test
+    void snapshot_matchesRepositoryOrderingAndIds() {
+        ReferenceDataCache.Snapshot snapshot = referenceDataCache.snapshot();
+        List<Title> fromDb = QuarkusTransaction.requiringNew().call(() -> titleRepository.listAllOrdered());
+
+        assertFalse(snapshot.titles().isEmpty(), "Flyway seed data should be present");
+        assertEquals(fromDb.stream().map(t -> t.code).toList(),
+                snapshot.titles().stream().map(t -> t.code).toList());
+        for (Title title : fromDb) {
+            assertEquals(title.description, snapshot.title(title.id).description);
+        }
+        assertNull(snapshot.title(null));
+        assertNull(snapshot.title(-1L));
+    }
+
+    @Test
+    void snapshot_isReusedUntilInvalidated() {
+        ReferenceDataCache.Snapshot first = referenceDataCache.snapshot();
+        assertSame(first, referenceDataCache.snapshot());
+
+        referenceDataCache.invalidate();
+
+        ReferenceDataCache.Snapshot second = referenceDataCache.snapshot();
+        assertNotSame(first, second);
+        assertTrue(second.version() > first.version());
+    }
+
+    @Test
+    void invalidate_appliesOnCommitOnly() {
+        ReferenceDataCache.Snapshot before = referenceDataCache.snapshot();
+
+        // A rolled-back write must leave the cached snapshot in place.
+        assertThrows(IllegalStateException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            titleRepository.persist(new Title(TEST_CODE, TEST_DESCRIPTION));
+            referenceDataCache.invalidate();
+            throw new IllegalStateException("roll back");
+        }));
+        assertSame(before, referenceDataCache.snapshot());
+
+        // A committed write replaces it, and the new row is visible by id.
+        Long id = QuarkusTransaction.requiringNew().call(() -> {
+            Title title = new Title(TEST_CODE, TEST_DESCRIPTION);
+            titleRepository.persist(title);
+            referenceDataCache.invalidate();
+            return title.id;
+        });
+        ReferenceDataCache.Snapshot after = referenceDataCache.snapshot();
+        assertNotSame(before, after);
+        assertEquals(TEST_DESCRIPTION, after.title(id).description);
+    }
+}
@@ -0,0 +1,47 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.entity.Title;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The pre-rendered options must match what the per-request Qute loop used to produce:
+ * escaped labels, and {@code selected} on exactly the matching option.
+ */
+class SelectOptionsTest {
+
+    private static Title title(long id, String code, String description) {
+        Title title = new Title(code, description);
+        title.id = id;
+        return title;
+    }
+
+    private final SelectOptions options = SelectOptions.of(
+        List.of(title(1L, "MR", "Mr"), title(2L, "DR", "Dr & <Prof>")),
+        t -> t.id, t -> String.valueOf(t.id), t -> t.description);
+
+    @Test
+    void render_escapesLabelsAndSelectsNothing() {
+        assertEquals("<option value=\"1\">Mr</option>\n"
+                + "<option value=\"2\">Dr &amp; &lt;Prof&gt;</option>",
+            options.render().toString());
+    }
+
+    @Test
+    void render_selectsMatchingEntityOrId() {
+        String expected = "<option value=\"1\">Mr</option>\n"
+            + "<option value=\"2\" selected>Dr &amp; &lt;Prof&gt;</option>";
+        assertEquals(expected, options.render(title(2L, "DR", "ignored")).toString());
+        assertEquals(expected, options.render(2L).toString());
+    }
+
+    @Test
+    void render_unknownOrNullSelectionLeavesOptionsUnselected() {
+        assertEquals(options.render().toString(), options.render(99L).toString());
+        assertEquals(options.render().toString(), options.render(null).toString());
+        assertEquals("", SelectOptions.EMPTY.render(1L).toString());
+    }
+}
@@ -0,0 +1,109 @@
+package io.archton.scaffold.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StaticAssetsTest {
+
+    private final StaticAssets assets = preloaded("/style.css", "img/logo-scaffold.png", "/missing.css");
+
+    private static StaticAssets preloaded(String... paths) {
+        StaticAssets assets = new StaticAssets();
+        assets.preload(List.of(paths));
+        return assets;
+    }
+
+    @Test
+    void url_isContentHashedAndStable() {
+        String url = assets.url("/style.css");
+
+        assertTrue(url.matches("/assets/[0-9a-f]{12}/style\\.css"), url);
+        assertEquals(url, preloaded("style.css").url("style.css"));
+        assertEquals("/missing.css", assets.url("/missing.css"));
+    }
+
+    @Test
+    void find_onlyReturnsPreloadedFiles() {
+        StaticAssets empty = new StaticAssets();
+        assertTrue(empty.find("/style.css").isEmpty());
+        assertEquals("/style.css", empty.url("/style.css"));
+
+        assertTrue(assets.find("/missing.css").isEmpty());
+        assertTrue(assets.find("/js/graph.js").isEmpty());
+        assertSame(assets.find("/style.css").orElseThrow(), assets.find("style.css").orElseThrow());
+    }
+
+    @Test
+    void templateReferences_includeTheBaseTemplateAssets() {
+        Set<String> libraryPaths = new TreeSet<>();
+        Set<String> paths = new StaticAssets().templateReferences(libraryPaths);
+
+        assertTrue(paths.containsAll(List.of("/style.css", "/favicon.ico", "/js/graph.js")), paths.toString());
+        assertTrue(libraryPaths.stream().anyMatch(p -> p.matches("/_static/uikit/[^/]+/dist/js/uikit\\.min\\.js")),
+            libraryPaths.toString());
+        assertTrue(paths.containsAll(libraryPaths));
+    }
+
+    @Test
+    void libraryUrl_failsForAnUnknownLibrary() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> assets.libraryUrl("left-pad", "/index.js"));
+        assertTrue(e.getMessage().contains("left-pad"), e.getMessage());
+    }
+
+    @Test
+    void preload_rejectsPathsOutsideTheStaticRoot() {
+        StaticAssets outside = preloaded("/../application.properties", "/img/..\\..\\application.properties");
+        assertTrue(outside.find("/../application.properties").isEmpty());
+        assertTrue(outside.find("/img/..\\..\\application.properties").isEmpty());
+    }
+
+    @Test
+    void textAssets_arePrecompressed_imagesAreNot() throws IOException {
+        StaticAssets.Asset css = assets.find("/style.css").orElseThrow();
+        assertNotNull(css.gzip());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(css.gzip()))) {
+            assertArrayEquals(css.identity(), in.readAllBytes());
+        }
+
+        StaticAssets.Asset png = assets.find("/img/logo-scaffold.png").orElseThrow();
+        assertEquals("image/png", png.contentType());
+        assertNull(png.gzip());
+        assertNull(png.brotli());
+        assertEquals(StaticAssets.Encoding.IDENTITY, png.encodingFor("br, gzip"));
+    }
+
+    @Test
+    void encodingFor_followsAcceptEncoding() {
+        StaticAssets.Asset css = assets.find("/style.css").orElseThrow();
+        StaticAssets.Encoding best = css.brotli() != null ? StaticAssets.Encoding.BR : StaticAssets.Encoding.GZIP;
+
+        assertEquals(best, css.encodingFor("gzip, deflate, br"));
+        assertEquals(StaticAssets.Encoding.GZIP, css.encodingFor("gzip, br;q=0"));
+        assertEquals(StaticAssets.Encoding.IDENTITY, css.encodingFor(null));
+        assertEquals(StaticAssets.Encoding.IDENTITY, css.encodingFor("deflate"));
+    }
+
+    @Test
+    void accepts_honoursQualityValues() {
+        assertTrue(StaticAssets.accepts("gzip;q=0.5", "gzip"));
+        assertTrue(StaticAssets.accepts("*", "br"));
+        assertFalse(StaticAssets.accepts("gzip; q=0", "gzip"));
+        assertFalse(StaticAssets.accepts("gzip", "br"));
+    }
+}
@@ -0,0 +1,59 @@
+package io.archton.scaffold.service;
+
+import io.archton.scaffold.repository.UserLoginRepository;
+import io.archton.scaffold.service.exception.UniqueConstraintException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Creating a user whose email differs from an existing one only in case is rejected by
+ * the database and reported as a {@link UniqueConstraintException}.
+ */
+@QuarkusTest
+class UserLoginServiceTest {
+
+    private static final String TEST_EMAIL = "unique-test@example.com";
+    private static final String TEST_PASSWORD = "a-long-enough-test-password";
+
+    @Inject
+    UserLoginService userLoginService;
+
+    @Inject
+    UserLoginRepository userLoginRepository;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @BeforeEach
+    @AfterEach
+    void removeTestData() {
+        QuarkusTransaction.requiringNew().run(() -> userLoginRepository.delete("email", TEST_EMAIL));
+    }
+
+    @Test
+    void create_rejectsDuplicateEmailIgnoringCase() {
+        String hash = passwordHasher.hash(TEST_PASSWORD);
+        userLoginService.createHashed(TEST_EMAIL, hash, "user");
+
+        UniqueConstraintException e = assertThrows(UniqueConstraintException.class,
+                () -> userLoginService.createHashed(TEST_EMAIL.toUpperCase(), hash, "user"));
+        assertEquals("email", e.getFieldName());
+        assertEquals(1L, QuarkusTransaction.requiringNew().call(() ->
+                userLoginRepository.count("email", TEST_EMAIL)));
+    }
+
+    @Test
+    void createHashed_refusesAPlainPassword() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userLoginService.createHashed(TEST_EMAIL, TEST_PASSWORD, "user"));
+        assertEquals(0L, QuarkusTransaction.requiringNew().call(() ->
+                userLoginRepository.count("email", TEST_EMAIL)));
+    }
+}